@@ -0,0 +1,47 @@
+package graph.bench;
+
+import graph.common.DatasetGenerator;
+import graph.common.Graph;
+
+import java.util.Random;
+
+/**
+ * Seeded graphs shared by the benchmarks, so every fork and every run
+ * measures exactly the same input.
+ */
+final class BenchmarkGraphs {
+    static final long SEED = 42;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Generates a random DAG.
+     * @param vertices number of vertices
+     * @param density edge density (0.0 to 1.0)
+     * @return generated graph
+     */
+    static Graph dag(int vertices, double density) {
+        return DatasetGenerator.generateDAG(vertices, density, new Random(SEED));
+    }
+
+    /**
+     * Generates a random DAG and adds one back edge per ten vertices,
+     * which merges parts of it into strongly connected components.
+     * @param vertices number of vertices
+     * @param density edge density of the DAG (0.0 to 1.0)
+     * @return generated graph
+     */
+    static Graph cyclic(int vertices, double density) {
+        Random random = new Random(SEED);
+        Graph graph = DatasetGenerator.generateDAG(vertices, density, random);
+        for (int i = 0; i < vertices / 10; i++) {
+            int u = random.nextInt(vertices);
+            int v = random.nextInt(vertices);
+            if (u != v) {
+                graph.addEdge(Math.max(u, v), Math.min(u, v), 1.0 + random.nextDouble() * 9.0);
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,67 @@
+package graph.bench;
+
+import graph.common.Graph;
+import graph.common.NoOpMetrics;
+import graph.dagsp.DAGShortestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of DAG path queries. Queries run on a prepared instance, as
+ * a service answering many queries would; {@link #shortestPathUnprepared}
+ * includes building the topological plan.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DagPathBenchmark {
+    @Param({"100", "1000", "3000"})
+    int vertices;
+
+    @Param({"0.005", "0.05"})
+    double density;
+
+    private Graph graph;
+    private DAGShortestPath dagSP;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.dag(vertices, density);
+        dagSP = new DAGShortestPath(graph, NoOpMetrics.INSTANCE);
+        dagSP.prepare();
+    }
+
+    @Benchmark
+    public DAGShortestPath.PathResult shortestPath() {
+        return dagSP.shortestPath(0);
+    }
+
+    @Benchmark
+    public DAGShortestPath.PathResult longestPath() {
+        return dagSP.longestPath(0);
+    }
+
+    @Benchmark
+    public DAGShortestPath.PathResult findCriticalPath() {
+        return dagSP.findCriticalPath();
+    }
+
+    @Benchmark
+    public DAGShortestPath.PathResult shortestPathUnprepared() {
+        return new DAGShortestPath(graph, NoOpMetrics.INSTANCE).shortestPath(0);
+    }
+}
@@ -0,0 +1,57 @@
+package graph.bench;
+
+import graph.common.DatasetGenerator;
+import graph.common.Graph;
+import graph.common.GraphLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing a graph from JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+    @Param({"100", "1000", "3000"})
+    int vertices;
+
+    @Param({"0.005", "0.05"})
+    double density;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("graph-bench", ".json");
+        DatasetGenerator.saveToJson(BenchmarkGraphs.dag(vertices, density), file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Graph loadFromJson() throws IOException {
+        return GraphLoader.loadFromJson(file.toString());
+    }
+}
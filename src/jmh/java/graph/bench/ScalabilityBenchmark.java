@@ -0,0 +1,377 @@
+package graph.bench;
+
+import graph.common.DatasetGenerator;
+import graph.common.Graph;
+import graph.common.GraphLoader;
+import graph.common.NoOpMetrics;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopologicalSort;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Measures how the pipeline of {@code Main.processGraph} scales with graph
+ * size: load, SCC detection, condensation, topological sort, shortest and
+ * longest paths, and the whole pipeline, on generated graphs from 1K to 10M
+ * edges in four shapes:
+ * <ul>
+ *   <li>sparse: random cyclic graph with 2 edges per vertex</li>
+ *   <li>dense: random cyclic graph with 2 * sqrt(E) vertices</li>
+ *   <li>scc: chain of 50-vertex SCCs</li>
+ *   <li>dag: random DAG with 4 edges per vertex</li>
+ * </ul>
+ * Each stage runs after warmup runs; the CSV reports the median and
+ * minimum time per run, edges per second at the median, peak heap while the
+ * stage ran and GC time per run. Edges per second count the edges the stage
+ * works on: the input graph for load, scc, condensation and the pipeline,
+ * the condensation for topo, shortest and longest. Paths start from the
+ * first vertex in topological order with outgoing edges; Tarjan numbers
+ * SCCs sink-first, so condensation vertex 0 would reach nothing.
+ *
+ * The pipeline starts from the in-memory graph at every size, so its curve
+ * measures the same steps throughout; loading is its own stage and is only
+ * measured up to the load limit. Peak heap is the largest total heap in use
+ * seen by a sampler that polls every millisecond, so spikes shorter than
+ * that can be missed. Rows are written as soon as they are measured, so a
+ * run stopped early keeps its results.
+ *
+ * Stages run on a thread with a large stack because {@link TarjanSCC}
+ * recurses once per vertex on a DFS path. The heap must hold the largest
+ * graph several times; pass e.g. -Xmx8g for 10M edges.
+ *
+ * Usage: ScalabilityBenchmark [--sizes 1000,10000] [--shapes sparse,dag]
+ * [--runs 3] [--warmup 2] [--load-limit 1000000] [--seed 42]
+ * [--stack-mb 2048] [--out target/scalability.csv]
+ */
+public class ScalabilityBenchmark {
+    static final String CSV_HEADER =
+        "shape,vertices,edges,stage,stage_edges,runs,median_ms,min_ms,edges_per_sec,peak_heap_mb,gc_ms";
+
+    private long[] sizes = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private List<String> shapes = Arrays.asList("sparse", "dense", "scc", "dag");
+    private int runs = 3;
+    private int warmup = 2;
+    private long loadLimit = 1_000_000;
+    private long seed = 42;
+    private long stackMb = 2048;
+    private Path out = Paths.get("target", "scalability.csv");
+
+    private PrintWriter csv;
+
+    // Keeps results reachable so the JIT cannot drop the work
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        ScalabilityBenchmark benchmark = new ScalabilityBenchmark();
+        benchmark.parseArgs(args);
+
+        Throwable[] failure = new Throwable[1];
+        Thread runner = new Thread(null, () -> {
+            try {
+                benchmark.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "scalability", benchmark.stackMb << 20);
+        runner.start();
+        runner.join();
+        if (failure[0] != null) {
+            failure[0].printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--sizes":
+                    sizes = Arrays.stream(value.split(",")).mapToLong(Long::parseLong).toArray();
+                    break;
+                case "--shapes":
+                    shapes = Arrays.asList(value.split(","));
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "--load-limit":
+                    loadLimit = Long.parseLong(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--stack-mb":
+                    stackMb = Long.parseLong(value);
+                    break;
+                case "--out":
+                    out = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (runs < 1 || warmup < 0) {
+            throw new IllegalArgumentException("Need at least one run and no negative warmup");
+        }
+    }
+
+    private void run() throws IOException {
+        Path dir = out.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+            csv = writer;
+            csv.println(CSV_HEADER);
+            for (String shape : shapes) {
+                for (long size : sizes) {
+                    try {
+                        runShape(shape, size);
+                    } catch (OutOfMemoryError e) {
+                        // Larger sizes of this shape would fail as well
+                        System.err.printf("%s with %d edges: out of memory, skipping larger sizes%n", shape, size);
+                        break;
+                    }
+                }
+            }
+        }
+        System.out.println("Results written to " + out);
+    }
+
+    private void runShape(String shape, long size) throws IOException {
+        Graph graph = generate(shape, size, new Random(seed));
+        int vertices = graph.getVertexCount();
+        long edges = graph.getEdgeCount();
+        System.out.printf("%n%s: %d vertices, %d edges%n", shape, vertices, edges);
+
+        Path file = null;
+        if (edges <= loadLimit) {
+            file = Files.createTempFile("scalability", ".json");
+            DatasetGenerator.saveToJson(graph, file.toString());
+        }
+        try {
+            Path json = file;
+            if (json != null) {
+                measure(shape, vertices, edges, "load", edges, () -> load(json));
+            }
+
+            measure(shape, vertices, edges, "scc", edges,
+                    () -> new TarjanSCC(graph, NoOpMetrics.INSTANCE).findSCCs());
+
+            TarjanSCC tarjan = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+            tarjan.findSCCs();
+            measure(shape, vertices, edges, "condensation", edges, tarjan::buildCondensation);
+
+            Graph condensation = tarjan.buildCondensation();
+            long condensedEdges = condensation.getEdgeCount();
+            measure(shape, vertices, edges, "topo", condensedEdges,
+                    () -> new KahnTopologicalSort(condensation, NoOpMetrics.INSTANCE).sort());
+
+            int source = pathSource(condensation,
+                                    new KahnTopologicalSort(condensation, NoOpMetrics.INSTANCE).sort());
+            measure(shape, vertices, edges, "shortest", condensedEdges,
+                    () -> new DAGShortestPath(condensation, NoOpMetrics.INSTANCE).shortestPath(source));
+            measure(shape, vertices, edges, "longest", condensedEdges,
+                    () -> new DAGShortestPath(condensation, NoOpMetrics.INSTANCE).longestPath(source));
+
+            measure(shape, vertices, edges, "pipeline", edges, () -> processGraph(graph));
+        } finally {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Generates a graph of one shape with about the given number of edges.
+     * @param shape sparse, dense, scc or dag
+     * @param edges target edge count
+     * @param random random source
+     * @return generated graph
+     */
+    static Graph generate(String shape, long edges, Random random) {
+        switch (shape) {
+            case "sparse":
+                return DatasetGenerator.generateRandomGraph(vertexCount(edges / 2), edges, false, random);
+            case "dense":
+                return DatasetGenerator.generateRandomGraph(vertexCount(2 * (long) Math.sqrt(edges)),
+                                                            edges, false, random);
+            case "scc": {
+                // About 1.3 edges per vertex: a cycle plus 30% chords per SCC
+                int n = vertexCount(edges * 10 / 13);
+                return DatasetGenerator.generateGraphWithSCCs(n, Math.max(1, n / 50), 50, random);
+            }
+            case "dag":
+                return DatasetGenerator.generateRandomGraph(vertexCount(edges / 4), edges, true, random);
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    private static int vertexCount(long n) {
+        if (n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vertices: " + n);
+        }
+        return (int) Math.max(2, n);
+    }
+
+    private static Graph load(Path file) {
+        try {
+            return GraphLoader.loadFromJson(file.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Picks the first vertex in topological order that has outgoing edges,
+     * so path stages sweep the condensation instead of a sink.
+     * @param condensation the condensation DAG
+     * @param order its topological order
+     * @return the source vertex
+     */
+    static int pathSource(Graph condensation, List<Integer> order) {
+        for (int v : order) {
+            if (!condensation.getEdges(v).isEmpty()) {
+                return v;
+            }
+        }
+        return order.isEmpty() ? 0 : order.get(0);
+    }
+
+    /**
+     * The steps of {@code Main.processGraph} after loading, without printing,
+     * with paths from {@link #pathSource} instead of vertex 0.
+     */
+    private static Object processGraph(Graph graph) {
+        TarjanSCC tarjan = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+        tarjan.findSCCs();
+        Graph condensation = tarjan.buildCondensation();
+        KahnTopologicalSort topoSort = new KahnTopologicalSort(condensation, NoOpMetrics.INSTANCE);
+        List<Integer> order = topoSort.sort();
+        if (topoSort.isDAG() && condensation.getVertexCount() > 0) {
+            int source = pathSource(condensation, order);
+            DAGShortestPath dagSP = new DAGShortestPath(condensation, NoOpMetrics.INSTANCE);
+            dagSP.shortestPath(source);
+            return dagSP.longestPath(source);
+        }
+        return condensation;
+    }
+
+    private void measure(String shape, int vertices, long edges, String stage, long stageEdges,
+                         Supplier<?> task) {
+        for (int i = 0; i < warmup; i++) {
+            consume(task.get());
+        }
+
+        System.gc();
+        long gcBefore = gcTimeMillis();
+
+        long[] times = new long[runs];
+        long peakHeap;
+        try (HeapSampler sampler = new HeapSampler()) {
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                consume(task.get());
+                times[i] = System.nanoTime() - start;
+            }
+            peakHeap = sampler.stop();
+        }
+
+        long gcMillis = gcTimeMillis() - gcBefore;
+
+        Arrays.sort(times);
+        long median = times[runs / 2];
+        double medianMs = median / 1e6;
+        double edgesPerSec = median == 0 ? 0 : stageEdges / (median / 1e9);
+        String row = String.format(Locale.ROOT, "%s,%d,%d,%s,%d,%d,%.3f,%.3f,%.0f,%.1f,%.1f",
+                                   shape, vertices, edges, stage, stageEdges, runs, medianMs, times[0] / 1e6,
+                                   edgesPerSec, peakHeap / (1024.0 * 1024.0), (double) gcMillis / runs);
+        csv.println(row);
+        csv.flush();
+        System.out.printf(Locale.ROOT, "  %-12s %12.3f ms %16.0f edges/s%n", stage, medianMs, edgesPerSec);
+    }
+
+    private static long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static void consume(Object result) {
+        sink = result;
+    }
+
+    /**
+     * Polls the total heap in use on a daemon thread and keeps the maximum.
+     * Per-pool peak usages cannot be added up, as the pools peak at
+     * different times.
+     */
+    private static final class HeapSampler implements AutoCloseable {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile long peak;
+
+        HeapSampler() {
+            sample();
+            thread = new Thread(() -> {
+                while (running) {
+                    sample();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "heap-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void sample() {
+            peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        /**
+         * Stops sampling.
+         * @return the largest heap usage seen, in bytes
+         */
+        long stop() {
+            close();
+            sample();
+            return peak;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
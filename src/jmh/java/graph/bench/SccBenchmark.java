@@ -0,0 +1,56 @@
+package graph.bench;
+
+import graph.common.Graph;
+import graph.common.NoOpMetrics;
+import graph.scc.TarjanSCC;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of SCC detection and condensation on graphs with cycles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SccBenchmark {
+    @Param({"100", "1000", "3000"})
+    int vertices;
+
+    @Param({"0.005", "0.05"})
+    double density;
+
+    private Graph graph;
+    private TarjanSCC detected;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.cyclic(vertices, density);
+        detected = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+        detected.findSCCs();
+    }
+
+    @Benchmark
+    public List<List<Integer>> findSCCs() {
+        return new TarjanSCC(graph, NoOpMetrics.INSTANCE).findSCCs();
+    }
+
+    @Benchmark
+    public Graph buildCondensation() {
+        return detected.buildCondensation();
+    }
+}
@@ -0,0 +1,48 @@
+package graph.bench;
+
+import graph.common.Graph;
+import graph.common.NoOpMetrics;
+import graph.topo.KahnTopologicalSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of Kahn's topological sort on DAGs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopoSortBenchmark {
+    @Param({"100", "1000", "3000"})
+    int vertices;
+
+    @Param({"0.005", "0.05"})
+    double density;
+
+    private Graph graph;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.dag(vertices, density);
+    }
+
+    @Benchmark
+    public List<Integer> sort() {
+        return new KahnTopologicalSort(graph, NoOpMetrics.INSTANCE).sort();
+    }
+}
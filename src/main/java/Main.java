@@ -57,9 +57,11 @@ public class Main {
      */
     private static void processGraph(String filename) throws IOException {
         // Load graph
-        Graph graph = GraphLoader.loadFromJson(filename);
-        System.out.println("\nLoaded graph: " + graph.getVertexCount() + " vertices, " + 
-                         graph.getEdgeCount() + " edges");
+        Metrics loadMetrics = new MetricsImpl();
+        Graph graph = GraphLoader.loadFromJson(filename, loadMetrics);
+        System.out.printf("%nLoaded graph: %d vertices, %d edges (%.3f ms)%n",
+                          graph.getVertexCount(), graph.getEdgeCount(),
+                          loadMetrics.getPhaseHistogram("load").getMax() / 1e6);
         
         // Step 1: Find Strongly Connected Components
         System.out.println("\n" + "-".repeat(80));
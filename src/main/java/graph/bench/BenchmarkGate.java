@@ -0,0 +1,485 @@
+package graph.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stores benchmark results as a baseline and fails when a later run
+ * regresses against it.
+ *
+ * Results are read from JMH JSON output ({@code -rf json}) or from
+ * {@code ScalabilityBenchmark} CSV files; several files of repeated runs
+ * may be given and are pooled. Every benchmark gets a throughput metric
+ * (JMH score or edges/sec) and, where available, a memory metric (JMH
+ * {@code gc.alloc.rate.norm} from {@code -prof gc}, or peak heap).
+ *
+ * A metric regresses when its mean is worse than the baseline by more than
+ * the tolerance and, if both sides have at least two samples, a one-sided
+ * Welch t-test at 99% confidence says the difference is not noise. Memory
+ * changes under 1 B/op (or 1 MB) are ignored, so allocation-free benchmarks
+ * do not fail on rounding; any larger growth from a zero baseline counts. JMH
+ * results contribute one sample per measurement iteration; scalability CSVs
+ * contribute one per file. A benchmark or metric of the baseline that is
+ * missing from the new run, e.g. because it crashed or ran out of memory,
+ * fails the gate unless {@code --allow-missing} is given.
+ *
+ * Usage:
+ * <pre>
+ * BenchmarkGate save &lt;baseline.json&gt; &lt;result&gt;...
+ * BenchmarkGate compare &lt;baseline.json&gt; &lt;result&gt;... [--tolerance 0.05] [--alloc-tolerance 0.05]
+ *     [--allow-missing]
+ * </pre>
+ * Exit codes: 0 passed, 1 regression or missing result, 2 invalid usage or input.
+ */
+public class BenchmarkGate {
+    static final String THROUGHPUT = "throughput";
+    static final String MEMORY = "memory";
+
+    // One-sided 99% Student t quantiles by degrees of freedom
+    private static final int[] T_DF = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15, 20, 30, 60};
+    private static final double[] T_99 = {31.821, 6.965, 4.541, 3.747, 3.365, 3.143, 2.998, 2.896,
+                                          2.821, 2.764, 2.681, 2.602, 2.528, 2.457, 2.390};
+    private static final double T_99_INFINITE = 2.326;
+
+    /** Memory changes below this (1 B/op or 1 MB) are measurement noise. */
+    private static final double MEMORY_NOISE_FLOOR = 1.0;
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Runs a command.
+     * @param args command line
+     * @return exit code
+     * @throws IOException if a file cannot be read or written
+     */
+    static int run(String[] args) throws IOException {
+        double tolerance = 0.05;
+        double allocTolerance = 0.05;
+        boolean allowMissing = false;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--tolerance":
+                    tolerance = Double.parseDouble(value(args, ++i));
+                    break;
+                case "--alloc-tolerance":
+                    allocTolerance = Double.parseDouble(value(args, ++i));
+                    break;
+                case "--allow-missing":
+                    allowMissing = true;
+                    break;
+                default:
+                    positional.add(args[i]);
+            }
+        }
+        if (positional.size() < 3) {
+            System.err.println("Usage: BenchmarkGate save <baseline.json> <result>...");
+            System.err.println("       BenchmarkGate compare <baseline.json> <result>... "
+                               + "[--tolerance 0.05] [--alloc-tolerance 0.05] [--allow-missing]");
+            return 2;
+        }
+
+        Path baseline = Paths.get(positional.get(1));
+        Map<String, Map<String, Metric>> current = new TreeMap<>();
+        for (String file : positional.subList(2, positional.size())) {
+            merge(current, readResults(Paths.get(file)));
+        }
+
+        switch (positional.get(0)) {
+            case "save":
+                writeBaseline(baseline, current);
+                System.out.printf("Saved %d benchmarks to %s%n", current.size(), baseline);
+                return 0;
+            case "compare": {
+                Report report = compare(readBaseline(baseline), current, tolerance, allocTolerance, allowMissing);
+                System.out.print(report.text);
+                return report.passed ? 0 : 1;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown command: " + positional.get(0));
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    /**
+     * Reads a JMH JSON result or a scalability CSV, chosen by file extension.
+     * @param file the result file
+     * @return metrics by benchmark name and metric kind
+     * @throws IOException if the file cannot be read
+     */
+    static Map<String, Map<String, Metric>> readResults(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".csv")) {
+            return readScalabilityCsv(file);
+        }
+        if (name.endsWith(".json")) {
+            return readJmhJson(file);
+        }
+        throw new IllegalArgumentException("Expected a .json or .csv result: " + file);
+    }
+
+    private static Map<String, Map<String, Metric>> readJmhJson(Path file) throws IOException {
+        Map<String, Map<String, Metric>> results = new TreeMap<>();
+        JsonArray runs;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            runs = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            String key = run.get("benchmark").getAsString();
+            if (run.has("params")) {
+                // Sorted so the key does not depend on parameter order
+                Map<String, String> params = new TreeMap<>();
+                for (Map.Entry<String, JsonElement> p : run.getAsJsonObject("params").entrySet()) {
+                    params.put(p.getKey(), p.getValue().getAsString());
+                }
+                key += params.toString().replace('{', '[').replace('}', ']').replace(", ", ",");
+            }
+            boolean higherIsBetter = "thrpt".equals(run.get("mode").getAsString());
+
+            Map<String, Metric> metrics = new LinkedHashMap<>();
+            JsonObject primary = run.getAsJsonObject("primaryMetric");
+            metrics.put(THROUGHPUT, new Metric(primary.get("scoreUnit").getAsString(), higherIsBetter,
+                                               rawData(primary)));
+            JsonObject secondary = run.getAsJsonObject("secondaryMetrics");
+            if (secondary != null && secondary.has("gc.alloc.rate.norm")) {
+                JsonObject alloc = secondary.getAsJsonObject("gc.alloc.rate.norm");
+                metrics.put(MEMORY, new Metric(alloc.get("scoreUnit").getAsString(), false, rawData(alloc)));
+            }
+            results.put(key, metrics);
+        }
+        return results;
+    }
+
+    private static double[] rawData(JsonObject metric) {
+        List<Double> values = new ArrayList<>();
+        if (metric.has("rawData")) {
+            for (JsonElement fork : metric.getAsJsonArray("rawData")) {
+                for (JsonElement iteration : fork.getAsJsonArray()) {
+                    values.add(iteration.getAsDouble());
+                }
+            }
+        }
+        if (values.isEmpty()) {
+            values.add(metric.get("score").getAsDouble());
+        }
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static Map<String, Map<String, Metric>> readScalabilityCsv(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String> header = lines.isEmpty() ? List.of() : Arrays.asList(lines.get(0).split(","));
+        int shape = header.indexOf("shape");
+        int edges = header.indexOf("edges");
+        int stage = header.indexOf("stage");
+        int edgesPerSec = header.indexOf("edges_per_sec");
+        int peakHeap = header.indexOf("peak_heap_mb");
+        if (shape < 0 || edges < 0 || stage < 0 || edgesPerSec < 0 || peakHeap < 0) {
+            throw new IllegalArgumentException("Not a scalability CSV: " + file);
+        }
+
+        Map<String, Map<String, Metric>> results = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] cells = line.split(",");
+            String key = "scalability." + cells[shape] + "[edges=" + cells[edges] + "]." + cells[stage];
+            Map<String, Metric> metrics = new LinkedHashMap<>();
+            metrics.put(THROUGHPUT, new Metric("edges/s", true,
+                                               new double[] {Double.parseDouble(cells[edgesPerSec])}));
+            metrics.put(MEMORY, new Metric("MB peak heap", false,
+                                           new double[] {Double.parseDouble(cells[peakHeap])}));
+            results.put(key, metrics);
+        }
+        return results;
+    }
+
+    private static void merge(Map<String, Map<String, Metric>> into, Map<String, Map<String, Metric>> results) {
+        for (Map.Entry<String, Map<String, Metric>> entry : results.entrySet()) {
+            Map<String, Metric> metrics = into.computeIfAbsent(entry.getKey(), k -> new LinkedHashMap<>());
+            for (Map.Entry<String, Metric> metric : entry.getValue().entrySet()) {
+                metrics.merge(metric.getKey(), metric.getValue(), Metric::pool);
+            }
+        }
+    }
+
+    /**
+     * Writes results as a baseline file.
+     * @param file the baseline file
+     * @param results metrics by benchmark name and metric kind
+     * @throws IOException if the file cannot be written
+     */
+    static void writeBaseline(Path file, Map<String, Map<String, Metric>> results) throws IOException {
+        JsonObject benchmarks = new JsonObject();
+        for (Map.Entry<String, Map<String, Metric>> entry : results.entrySet()) {
+            JsonObject metrics = new JsonObject();
+            for (Map.Entry<String, Metric> metric : entry.getValue().entrySet()) {
+                Metric m = metric.getValue();
+                JsonObject json = new JsonObject();
+                json.addProperty("unit", m.unit);
+                json.addProperty("higherIsBetter", m.higherIsBetter);
+                JsonArray values = new JsonArray();
+                for (double v : m.values) {
+                    values.add(v);
+                }
+                json.add("values", values);
+                metrics.add(metric.getKey(), json);
+            }
+            benchmarks.add(entry.getKey(), metrics);
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("format", 1);
+        root.add("benchmarks", benchmarks);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Files.write(file, gson.toJson(root).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a baseline file.
+     * @param file the baseline file
+     * @return metrics by benchmark name and metric kind
+     * @throws IOException if the file cannot be read
+     */
+    static Map<String, Map<String, Metric>> readBaseline(Path file) throws IOException {
+        JsonObject root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            root = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        if (!root.has("format") || root.get("format").getAsInt() != 1) {
+            throw new IllegalArgumentException("Unsupported baseline format: " + file);
+        }
+        Map<String, Map<String, Metric>> results = new TreeMap<>();
+        for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("benchmarks").entrySet()) {
+            Map<String, Metric> metrics = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> metric : entry.getValue().getAsJsonObject().entrySet()) {
+                JsonObject json = metric.getValue().getAsJsonObject();
+                JsonArray array = json.getAsJsonArray("values");
+                double[] values = new double[array.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = array.get(i).getAsDouble();
+                }
+                metrics.put(metric.getKey(), new Metric(json.get("unit").getAsString(),
+                                                        json.get("higherIsBetter").getAsBoolean(), values));
+            }
+            results.put(entry.getKey(), metrics);
+        }
+        return results;
+    }
+
+    /**
+     * Compares a run against a baseline.
+     * @param baseline baseline metrics
+     * @param current metrics of the new run
+     * @param tolerance allowed relative throughput loss, e.g. 0.05
+     * @param allocTolerance allowed relative memory growth
+     * @param allowMissing true if baseline entries missing from the run do not fail
+     * @return the readable diff and the verdict
+     */
+    static Report compare(Map<String, Map<String, Metric>> baseline, Map<String, Map<String, Metric>> current,
+                          double tolerance, double allocTolerance, boolean allowMissing) {
+        StringBuilder sb = new StringBuilder();
+        int regressions = 0;
+        int improvements = 0;
+        int unchanged = 0;
+        int missing = 0;
+
+        sb.append(String.format(Locale.ROOT, "%-12s %-10s %16s %16s %9s  %s%n",
+                                "Verdict", "Metric", "Baseline", "Current", "Change", "Benchmark"));
+        for (Map.Entry<String, Map<String, Metric>> entry : baseline.entrySet()) {
+            Map<String, Metric> now = current.get(entry.getKey());
+            if (now == null) {
+                sb.append(String.format("%-12s %s%n", "MISSING", entry.getKey()));
+                missing++;
+                continue;
+            }
+            for (Map.Entry<String, Metric> metric : entry.getValue().entrySet()) {
+                Metric before = metric.getValue();
+                Metric after = now.get(metric.getKey());
+                if (after == null) {
+                    sb.append(String.format("%-12s %-10s %s%n", "MISSING", metric.getKey(), entry.getKey()));
+                    missing++;
+                    continue;
+                }
+                double limit = THROUGHPUT.equals(metric.getKey()) ? tolerance : allocTolerance;
+                double change = relativeChange(before.mean(), after.mean());
+                double worse = before.higherIsBetter ? -change : change;
+
+                boolean belowFloor = MEMORY.equals(metric.getKey())
+                    && Math.abs(after.mean() - before.mean()) < MEMORY_NOISE_FLOOR;
+
+                String verdict;
+                if (Math.abs(worse) <= limit || belowFloor) {
+                    verdict = "ok";
+                    unchanged++;
+                } else if (!isSignificant(before, after)) {
+                    verdict = "noise";
+                    unchanged++;
+                } else if (worse > 0) {
+                    verdict = "REGRESSION";
+                    regressions++;
+                } else {
+                    verdict = "improved";
+                    improvements++;
+                }
+                sb.append(String.format(Locale.ROOT, "%-12s %-10s %16s %16s %9s  %s (%s)%n",
+                                        verdict, metric.getKey(), format(before), format(after),
+                                        formatChange(change), entry.getKey(), after.unit));
+            }
+        }
+        int added = 0;
+        for (String key : current.keySet()) {
+            if (!baseline.containsKey(key)) {
+                added++;
+            }
+        }
+
+        sb.append(String.format("%n%d regressions, %d improvements, %d unchanged, %d missing, %d new%n",
+                                regressions, improvements, unchanged, missing, added));
+        boolean passed = regressions == 0 && (missing == 0 || allowMissing);
+        sb.append(passed ? "PASSED\n" : "FAILED\n");
+        return new Report(sb.toString(), regressions, missing, passed);
+    }
+
+    /**
+     * Relative change from a baseline mean. Growth from a zero baseline is
+     * infinite, so it still counts as a change beyond any tolerance.
+     */
+    static double relativeChange(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, after);
+        }
+        return (after - before) / Math.abs(before);
+    }
+
+    private static String formatChange(double change) {
+        if (Double.isInfinite(change)) {
+            return change > 0 ? "+inf%" : "-inf%";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", change * 100);
+    }
+
+    /**
+     * Welch's t-test: whether the means differ at 99% one-sided confidence.
+     * With fewer than two samples on either side there is no variance
+     * estimate, so every difference beyond the tolerance counts.
+     */
+    static boolean isSignificant(Metric before, Metric after) {
+        int n1 = before.values.length;
+        int n2 = after.values.length;
+        if (n1 < 2 || n2 < 2) {
+            return true;
+        }
+        double v1 = before.variance() / n1;
+        double v2 = after.variance() / n2;
+        double diff = Math.abs(after.mean() - before.mean());
+        if (v1 + v2 == 0) {
+            return diff > 0;
+        }
+        double t = diff / Math.sqrt(v1 + v2);
+        double df = (v1 + v2) * (v1 + v2) / (v1 * v1 / (n1 - 1) + v2 * v2 / (n2 - 1));
+        return t > criticalT(df);
+    }
+
+    static double criticalT(double df) {
+        // Largest tabulated df not above the actual one, which is conservative
+        double critical = T_99[0];
+        for (int i = 0; i < T_DF.length && T_DF[i] <= df; i++) {
+            critical = T_99[i];
+        }
+        return df > 120 ? T_99_INFINITE : critical;
+    }
+
+    private static String format(Metric metric) {
+        return String.format(Locale.ROOT, "%.3f", metric.mean());
+    }
+
+    /**
+     * Samples of one metric of one benchmark.
+     */
+    static class Metric {
+        final String unit;
+        final boolean higherIsBetter;
+        final double[] values;
+
+        Metric(String unit, boolean higherIsBetter, double[] values) {
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+            this.values = values;
+        }
+
+        Metric pool(Metric other) {
+            double[] all = Arrays.copyOf(values, values.length + other.values.length);
+            System.arraycopy(other.values, 0, all, values.length, other.values.length);
+            return new Metric(unit, higherIsBetter, all);
+        }
+
+        double mean() {
+            double sum = 0;
+            for (double v : values) {
+                sum += v;
+            }
+            return sum / values.length;
+        }
+
+        double variance() {
+            double mean = mean();
+            double squares = 0;
+            for (double v : values) {
+                squares += (v - mean) * (v - mean);
+            }
+            return squares / (values.length - 1);
+        }
+    }
+
+    /**
+     * Result of a comparison.
+     */
+    static class Report {
+        final String text;
+        final int regressions;
+        final int missing;
+        final boolean passed;
+
+        Report(String text, int regressions, int missing, boolean passed) {
+            this.text = text;
+            this.regressions = regressions;
+            this.missing = missing;
+            this.passed = passed;
+        }
+    }
+}
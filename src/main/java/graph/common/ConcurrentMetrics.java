@@ -0,0 +1,248 @@
+package graph.common;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Metrics implementation for parallel algorithms and services.
+ * Each counter is a {@link LongAdder}, whose striped cells keep contended
+ * increments from serializing on one cache line; the value is summed on read.
+ * The handle table is copy-on-write, so increments never take a lock.
+ *
+ * Timers are per thread: {@link #getElapsedTimeNanos()} reports the calling
+ * thread's last measurement, and {@link #getTotalTimeNanos()} the sum of all
+ * measurements completed on any thread since the last reset. Phases nest
+ * per thread and record into histograms shared by all threads.
+ */
+public class ConcurrentMetrics implements Metrics {
+    // Immutable snapshot, replaced when a counter is registered
+    private volatile Registry registry = new Registry(new String[0], new LongAdder[0], new HashMap<>());
+    private final ThreadLocal<Timer> timers = ThreadLocal.withInitial(Timer::new);
+    private final LongAdder totalTime = new LongAdder();
+    private final ThreadLocal<PhaseStack> phaseStacks = ThreadLocal.withInitial(PhaseStack::new);
+    private final Map<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> phaseAllocations = new ConcurrentHashMap<>();
+    // Counters incremented by zero since the last reset, reported although still zero
+    private final Set<Integer> zeroIncremented = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void reset() {
+        for (LongAdder cell : registry.cells) {
+            cell.reset();
+        }
+        zeroIncremented.clear();
+        totalTime.reset();
+        timers.get().clear();
+    }
+
+    @Override
+    public void startTimer() {
+        Timer timer = timers.get();
+        timer.start = System.nanoTime();
+        timer.running = true;
+    }
+
+    @Override
+    public void stopTimer() {
+        Timer timer = timers.get();
+        if (timer.running) {
+            timer.end = System.nanoTime();
+            timer.running = false;
+            totalTime.add(timer.end - timer.start);
+        }
+    }
+
+    @Override
+    public long getElapsedTimeNanos() {
+        Timer timer = timers.get();
+        if (timer.running) {
+            return System.nanoTime() - timer.start;
+        }
+        return timer.end - timer.start;
+    }
+
+    @Override
+    public double getElapsedTimeMillis() {
+        return getElapsedTimeNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Gets the sum of all timer measurements completed on any thread.
+     * @return total time in nanoseconds
+     */
+    public long getTotalTimeNanos() {
+        return totalTime.sum();
+    }
+
+    @Override
+    public int registerCounter(String counterName) {
+        Integer handle = registry.handles.get(counterName);
+        if (handle != null) {
+            return handle;
+        }
+        synchronized (this) {
+            Registry current = registry;
+            handle = current.handles.get(counterName);
+            if (handle != null) {
+                return handle;
+            }
+            int h = current.names.length;
+            String[] names = Arrays.copyOf(current.names, h + 1);
+            LongAdder[] cells = Arrays.copyOf(current.cells, h + 1);
+            Map<String, Integer> handles = new HashMap<>(current.handles);
+            names[h] = counterName;
+            cells[h] = new LongAdder();
+            handles.put(counterName, h);
+            registry = new Registry(names, cells, handles);
+            return h;
+        }
+    }
+
+    @Override
+    public void incrementCounter(int handle) {
+        registry.cells[handle].increment();
+    }
+
+    @Override
+    public void incrementCounter(int handle, long amount) {
+        if (amount == 0) {
+            zeroIncremented.add(handle);
+        } else {
+            registry.cells[handle].add(amount);
+        }
+    }
+
+    @Override
+    public void incrementCounter(String counterName) {
+        incrementCounter(registerCounter(counterName));
+    }
+
+    @Override
+    public void incrementCounter(String counterName, long amount) {
+        incrementCounter(registerCounter(counterName), amount);
+    }
+
+    @Override
+    public long getCounter(String counterName) {
+        Registry current = registry;
+        Integer handle = current.handles.get(counterName);
+        return handle == null ? 0 : current.cells[handle].sum();
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Registry current = registry;
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (int h = 0; h < current.names.length; h++) {
+            snapshot.put(current.names[h], current.cells[h].sum());
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void startPhase(String phaseName) {
+        phaseStacks.get().push(phaseName);
+    }
+
+    @Override
+    public void stopPhase(String phaseName) {
+        PhaseStack stack = phaseStacks.get();
+        long elapsed = stack.pop(phaseName);
+        phases.computeIfAbsent(phaseName, name -> new LatencyHistogram()).record(elapsed);
+        long allocated = stack.getLastAllocatedBytes();
+        if (allocated >= 0) {
+            phaseAllocations.computeIfAbsent(phaseName, name -> new LongAdder()).add(allocated);
+        }
+    }
+
+    @Override
+    public long getPhaseAllocatedBytes(String phaseName) {
+        if (!PhaseStack.isAllocationTrackingSupported()) {
+            return -1;
+        }
+        LongAdder allocated = phaseAllocations.get(phaseName);
+        return allocated == null ? 0 : allocated.sum();
+    }
+
+    @Override
+    public LatencyHistogram getPhaseHistogram(String phaseName) {
+        return phases.get(phaseName);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getPhaseHistograms() {
+        return new TreeMap<>(phases);
+    }
+
+    @Override
+    public void clearPhases() {
+        phases.clear();
+        phaseAllocations.clear();
+    }
+
+    @Override
+    public void printMetrics() {
+        System.out.println(getMetricsReport());
+    }
+
+    @Override
+    public String getMetricsReport() {
+        Registry current = registry;
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Metrics Report ===\n");
+        sb.append(String.format("Execution Time: %.3f ms (%.0f ns)\n",
+                               getElapsedTimeMillis(), (double) getElapsedTimeNanos()));
+        sb.append(String.format("Total Time (all threads): %.3f ms\n", getTotalTimeNanos() / 1_000_000.0));
+        sb.append("Operation Counters:\n");
+        for (int h = 0; h < current.names.length; h++) {
+            long value = current.cells[h].sum();
+            if (value != 0 || zeroIncremented.contains(h)) {
+                sb.append(String.format("  %s: %d\n", current.names[h], value));
+            }
+        }
+        if (!phases.isEmpty()) {
+            sb.append("Phase Latencies:\n");
+            for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(phases).entrySet()) {
+                sb.append(String.format("  %s: %s%s\n", entry.getKey(), entry.getValue().summary(),
+                                        MetricsImpl.allocationSummary(getPhaseAllocatedBytes(entry.getKey()), entry.getValue())));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Counter names, cells and name lookup; never modified after publication.
+     */
+    private static final class Registry {
+        final String[] names;
+        final LongAdder[] cells;
+        final Map<String, Integer> handles;
+
+        Registry(String[] names, LongAdder[] cells, Map<String, Integer> handles) {
+            this.names = names;
+            this.cells = cells;
+            this.handles = handles;
+        }
+    }
+
+    /**
+     * Timer state of one thread.
+     */
+    private static final class Timer {
+        long start;
+        long end;
+        boolean running;
+
+        void clear() {
+            start = 0;
+            end = 0;
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package graph.common;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide counter handles for Metrics implementations that only
+ * support named counters. Backs the default handle methods of
+ * {@link Metrics}, which map a handle back to its name.
+ */
+final class CounterNames {
+    private static final Map<String, Integer> HANDLES = new ConcurrentHashMap<>();
+    // Copied on registration, so lookups read it without a lock
+    private static volatile String[] names = new String[0];
+
+    private CounterNames() {
+    }
+
+    /**
+     * Gets the handle of a name, assigning the next one on first use.
+     * @param counterName the name of the counter
+     * @return the handle
+     */
+    static int register(String counterName) {
+        Integer handle = HANDLES.get(counterName);
+        if (handle != null) {
+            return handle;
+        }
+        synchronized (HANDLES) {
+            return HANDLES.computeIfAbsent(counterName, name -> {
+                String[] grown = Arrays.copyOf(names, names.length + 1);
+                grown[grown.length - 1] = name;
+                names = grown;
+                return grown.length - 1;
+            });
+        }
+    }
+
+    /**
+     * Gets the name of a handle.
+     * @param handle handle from {@link #register(String)}
+     * @return the name of the counter
+     */
+    static String name(int handle) {
+        return names[handle];
+    }
+}
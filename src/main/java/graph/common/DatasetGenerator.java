@@ -25,13 +25,25 @@ public class DatasetGenerator {
      * @return generated graph
      */
     public static Graph generateDAG(int n, double density) {
+        return generateDAG(n, density, random);
+    }
+
+    /**
+     * Generates a random DAG (Directed Acyclic Graph) from a given random source.
+     * Equal seeds give equal graphs.
+     * @param n number of vertices
+     * @param density edge density (0.0 to 1.0)
+     * @param rng random source
+     * @return generated graph
+     */
+    public static Graph generateDAG(int n, double density, Random rng) {
         Graph graph = new Graph(n);
         
         // Add edges only from lower to higher numbered vertices (ensures DAG)
         for (int i = 0; i < n; i++) {
             for (int j = i + 1; j < n; j++) {
-                if (random.nextDouble() < density) {
-                    double weight = 1.0 + random.nextDouble() * 9.0; // Weight between 1.0 and 10.0
+                if (rng.nextDouble() < density) {
+                    double weight = 1.0 + rng.nextDouble() * 9.0; // Weight between 1.0 and 10.0
                     graph.addEdge(i, j, weight);
                 }
             }
@@ -53,6 +65,19 @@ public class DatasetGenerator {
      * @return generated graph
      */
     public static Graph generateGraphWithSCCs(int n, int numSCCs, int sccSize) {
+        return generateGraphWithSCCs(n, numSCCs, sccSize, random);
+    }
+
+    /**
+     * Generates a graph with specified number of SCCs from a given random source.
+     * Equal seeds give equal graphs.
+     * @param n number of vertices
+     * @param numSCCs desired number of SCCs
+     * @param sccSize average size of each SCC
+     * @param rng random source
+     * @return generated graph
+     */
+    public static Graph generateGraphWithSCCs(int n, int numSCCs, int sccSize, Random rng) {
         Graph graph = new Graph(n);
         
         int verticesPerSCC = n / numSCCs;
@@ -65,16 +90,16 @@ public class DatasetGenerator {
             // Create cycle within SCC
             for (int i = start; i < end; i++) {
                 int next = (i + 1 < end) ? (i + 1) : start;
-                double weight = 1.0 + random.nextDouble() * 4.0;
+                double weight = 1.0 + rng.nextDouble() * 4.0;
                 graph.addEdge(i, next, weight);
             }
             
             // Add extra edges within SCC
             for (int i = start; i < end; i++) {
-                if (random.nextDouble() < 0.3) {
-                    int target = start + random.nextInt(end - start);
+                if (rng.nextDouble() < 0.3) {
+                    int target = start + rng.nextInt(end - start);
                     if (target != i) {
-                        double weight = 1.0 + random.nextDouble() * 4.0;
+                        double weight = 1.0 + rng.nextDouble() * 4.0;
                         graph.addEdge(i, target, weight);
                     }
                 }
@@ -92,10 +117,10 @@ public class DatasetGenerator {
             int toEnd = (toSCC == numSCCs - 1) ? n : (toSCC + 1) * verticesPerSCC;
             
             // Add 1-2 edges between consecutive SCCs
-            for (int j = 0; j < 1 + random.nextInt(2); j++) {
-                int from = fromStart + random.nextInt(fromEnd - fromStart);
-                int to = toStart + random.nextInt(toEnd - toStart);
-                double weight = 1.0 + random.nextDouble() * 4.0;
+            for (int j = 0; j < 1 + rng.nextInt(2); j++) {
+                int from = fromStart + rng.nextInt(fromEnd - fromStart);
+                int to = toStart + rng.nextInt(toEnd - toStart);
+                double weight = 1.0 + rng.nextDouble() * 4.0;
                 graph.addEdge(from, to, weight);
             }
         }
@@ -109,6 +134,38 @@ public class DatasetGenerator {
         return graph;
     }
 
+    /**
+     * Generates a random graph with an exact number of edges in O(V + E),
+     * for graphs too large for the density-based generators. Endpoints are
+     * drawn uniformly; self-loops are redrawn and parallel edges may occur.
+     * No labels are added.
+     * @param n number of vertices (at least 2 if there are edges)
+     * @param m number of edges
+     * @param acyclic if true, every edge goes from the lower to the higher vertex
+     * @param rng random source
+     * @return generated graph
+     */
+    public static Graph generateRandomGraph(int n, long m, boolean acyclic, Random rng) {
+        if (m > 0 && n < 2) {
+            throw new IllegalArgumentException("Need at least 2 vertices for " + m + " edges");
+        }
+        Graph graph = new Graph(n);
+        for (long e = 0; e < m; e++) {
+            int u = rng.nextInt(n);
+            int v = rng.nextInt(n);
+            while (v == u) {
+                v = rng.nextInt(n);
+            }
+            double weight = 1.0 + rng.nextDouble() * 9.0;
+            if (acyclic) {
+                graph.addEdge(Math.min(u, v), Math.max(u, v), weight);
+            } else {
+                graph.addEdge(u, v, weight);
+            }
+        }
+        return graph;
+    }
+
     /**
      * Saves a graph to JSON file.
      * @param graph the graph to save
@@ -9,6 +9,7 @@ public class Graph {
     private final int vertices;
     private final Map<Integer, List<Edge>> adjacencyList;
     private final Map<Integer, String> nodeLabels;
+    private int version;
 
     /**
      * Creates a graph with the specified number of vertices.
@@ -34,6 +35,7 @@ public class Graph {
             throw new IllegalArgumentException("Invalid vertex: " + from + " or " + to);
         }
         adjacencyList.get(from).add(new Edge(to, weight));
+        version++;
     }
 
     /**
@@ -63,6 +65,14 @@ public class Graph {
         return nodeLabels.getOrDefault(vertex, String.valueOf(vertex));
     }
 
+    /**
+     * Gets the vertices that have an explicit label.
+     * @return read-only set of labelled vertices
+     */
+    Set<Integer> getLabelledVertices() {
+        return Collections.unmodifiableSet(nodeLabels.keySet());
+    }
+
     /**
      * Gets all edges from a vertex.
      * @param vertex the source vertex
@@ -80,6 +90,16 @@ public class Graph {
         return vertices;
     }
 
+    /**
+     * Gets the structural version of the graph.
+     * The version changes every time an edge is added, so results derived
+     * from the graph can be tagged with it and detected as stale later.
+     * @return version counter
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * Gets the total number of edges.
      * @return edge count
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import graph.jfr.GraphLoadEvent;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -34,6 +35,14 @@ public class GraphLoader {
      * @throws IOException if file cannot be read
      */
     public static Graph loadFromJson(String filename) throws IOException {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        Graph graph = parseJson(filename);
+        event.finish(filename, graph);
+        return graph;
+    }
+
+    private static Graph parseJson(String filename) throws IOException {
         Gson gson = new Gson();
         try (FileReader reader = new FileReader(filename)) {
             JsonObject json = gson.fromJson(reader, JsonObject.class);
@@ -72,6 +81,22 @@ public class GraphLoader {
         }
     }
 
+    /**
+     * Loads a graph from a JSON file, recording the load as the "load" phase.
+     * @param filename path to the JSON file
+     * @param metrics collector for the phase latency
+     * @return the loaded graph
+     * @throws IOException if file cannot be read
+     */
+    public static Graph loadFromJson(String filename, Metrics metrics) throws IOException {
+        metrics.startPhase("load");
+        try {
+            return loadFromJson(filename);
+        } finally {
+            metrics.stopPhase("load");
+        }
+    }
+
     /**
      * Creates a simple test graph for debugging.
      * @return a small test graph
@@ -0,0 +1,161 @@
+package graph.common;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over the items 0..capacity-1 with double keys.
+ * Each item is in the heap at most once and its key can be decreased in
+ * place, so Dijkstra-style algorithms need no allocation per operation.
+ * A larger arity makes the tree shallower, which favours decrease-key
+ * heavy workloads.
+ */
+public class IndexedDaryHeap {
+    private final int arity;
+    private final int[] heap;      // heap slot -> item
+    private final int[] slotOf;    // item -> heap slot, or -1 if absent
+    private final double[] keys;   // item -> key
+    private int size;
+
+    /**
+     * Creates a heap for items 0..capacity-1.
+     * @param capacity number of distinct items
+     * @param arity number of children per node (at least 2)
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.slotOf = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(slotOf, -1);
+    }
+
+    /**
+     * Inserts an item, or lowers its key if it is already present with a larger one.
+     * @param item the item
+     * @param key the new key
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int item, double key) {
+        int slot = slotOf[item];
+        if (slot == -1) {
+            slot = size++;
+            heap[slot] = item;
+            slotOf[item] = slot;
+        } else if (key >= keys[item]) {
+            return false;
+        }
+        keys[item] = key;
+        siftUp(slot);
+        return true;
+    }
+
+    /**
+     * Removes and returns the item with the smallest key.
+     * @return the item
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int top = heap[0];
+        slotOf[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            slotOf[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the key of an item that is or was in the heap.
+     * @param item the item
+     * @return its last key
+     */
+    public double getKey(int item) {
+        return keys[item];
+    }
+
+    /**
+     * Checks if an item is currently in the heap.
+     * @param item the item
+     * @return true if present
+     */
+    public boolean contains(int item) {
+        return slotOf[item] != -1;
+    }
+
+    /**
+     * Gets the number of items in the heap.
+     * @return heap size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all items.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slotOf[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int item = heap[slot];
+        double key = keys[item];
+        while (slot > 0) {
+            int parent = (slot - 1) / arity;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key) {
+                break;
+            }
+            heap[slot] = parentItem;
+            slotOf[parentItem] = slot;
+            slot = parent;
+        }
+        heap[slot] = item;
+        slotOf[item] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int item = heap[slot];
+        double key = keys[item];
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            int end = Math.min(first + arity, size);
+            for (int c = first + 1; c < end; c++) {
+                if (keys[heap[c]] < keys[heap[best]]) {
+                    best = c;
+                }
+            }
+            if (keys[heap[best]] >= key) {
+                break;
+            }
+            heap[slot] = heap[best];
+            slotOf[heap[slot]] = slot;
+            slot = best;
+        }
+        heap[slot] = item;
+        slotOf[item] = slot;
+    }
+}
@@ -0,0 +1,131 @@
+package graph.common;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int values ordered by a double key.
+ * Backed by primitive arrays, so push/poll never allocate once the
+ * heap has grown to its working size. Equal keys are ordered by value.
+ */
+public class IntDoubleHeap {
+    private int[] values;
+    private double[] keys;
+    private int size;
+
+    /**
+     * Creates a heap with the given initial capacity.
+     * @param capacity initial capacity
+     */
+    public IntDoubleHeap(int capacity) {
+        int cap = Math.max(capacity, 4);
+        this.values = new int[cap];
+        this.keys = new double[cap];
+        this.size = 0;
+    }
+
+    /**
+     * Inserts a value with the given key.
+     * @param value the value
+     * @param key the priority key (smaller is polled first)
+     */
+    public void push(int value, double key) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        // Sift up
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(value, key, values[parent], keys[parent])) {
+                break;
+            }
+            values[i] = values[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        values[i] = value;
+        keys[i] = key;
+    }
+
+    /**
+     * Removes and returns the value with the smallest key.
+     * @return the value
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int top = values[0];
+        size--;
+        if (size > 0) {
+            int value = values[size];
+            double key = keys[size];
+            int i = 0;
+            // Sift down
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && less(values[child + 1], keys[child + 1], values[child], keys[child])) {
+                    child++;
+                }
+                if (!less(values[child], keys[child], value, key)) break;
+                values[i] = values[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            values[i] = value;
+            keys[i] = key;
+        }
+        return top;
+    }
+
+    /**
+     * Gets the value with the smallest key without removing it.
+     * @return the value
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return values[0];
+    }
+
+    /**
+     * Gets the smallest key without removing it.
+     * @return the key
+     */
+    public double peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Gets the number of elements in the heap.
+     * @return heap size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements, keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private static boolean less(int v1, double k1, int v2, double k2) {
+        return k1 < k2 || (k1 == k2 && v1 < v2);
+    }
+}
@@ -0,0 +1,227 @@
+package graph.common;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Estimates the heap footprint of graphs and algorithm results.
+ * Sizes assume a 64-bit JVM with compressed references: 12-byte object
+ * headers, 16-byte array headers, 4-byte references and 8-byte alignment.
+ * Collections are sized as if filled by repeated {@code add}/{@code put}
+ * calls, which is how {@link Graph} and the algorithms build them.
+ */
+public final class MemoryFootprint {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final long HASH_MAP = align(OBJECT_HEADER + 4 * REFERENCE + 4 * 4);
+    private static final long HASH_NODE = align(OBJECT_HEADER + 4 + 3 * REFERENCE);
+    private static final long ARRAY_LIST = align(OBJECT_HEADER + 2 * 4 + REFERENCE);
+    private static final long INTEGER = align(OBJECT_HEADER + 4);
+    private static final long STRING = align(OBJECT_HEADER + 2 * 4 + 2 + REFERENCE);
+    private static final long EDGE = align(OBJECT_HEADER + 4 + 8);
+
+    private MemoryFootprint() {
+    }
+
+    /**
+     * Estimates the footprint of a graph.
+     * @param graph the graph
+     * @return per-part estimate
+     */
+    public static GraphFootprint of(Graph graph) {
+        int n = graph.getVertexCount();
+        int edges = 0;
+
+        // Vertex map, one list per vertex and the lists' backing arrays
+        long adjacency = hashMap(n) + boxedKeys(n);
+        for (int v = 0; v < n; v++) {
+            int size = graph.getEdges(v).size();
+            adjacency += ARRAY_LIST + referenceArray(arrayListCapacity(size));
+            edges += size;
+        }
+
+        long edgeBytes = (long) edges * EDGE;
+
+        Set<Integer> labelled = graph.getLabelledVertices();
+        long labels = hashMap(labelled.size());
+        for (Integer vertex : labelled) {
+            labels += boxed(vertex) + string(graph.getNodeLabel(vertex));
+        }
+
+        return new GraphFootprint(n, edges, adjacency, edgeBytes, labels);
+    }
+
+    /**
+     * Estimates the footprint of SCCs as returned by the SCC detector.
+     * @param components list of components, each a list of vertices
+     * @return estimated bytes
+     */
+    public static long ofComponents(List<List<Integer>> components) {
+        long bytes = ARRAY_LIST + referenceArray(arrayListCapacity(components.size()));
+        for (List<Integer> component : components) {
+            bytes += ARRAY_LIST + referenceArray(arrayListCapacity(component.size()));
+            for (Integer vertex : component) {
+                bytes += boxed(vertex);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the footprint of the same graph in compressed sparse row
+     * form (offsets, int targets, double weights), as used by
+     * {@code TopologicalPlan}.
+     * @param vertices vertex count
+     * @param edges edge count
+     * @return estimated bytes
+     */
+    public static long csrBytes(int vertices, int edges) {
+        return align(ARRAY_HEADER + 4L * (vertices + 1))
+            + align(ARRAY_HEADER + 4L * edges)
+            + align(ARRAY_HEADER + 8L * edges);
+    }
+
+    /**
+     * Estimates the footprint of a plain object.
+     * @param references number of reference fields
+     * @param primitiveBytes total bytes of primitive fields
+     * @return estimated bytes
+     */
+    public static long objectBytes(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) REFERENCE * references + primitiveBytes);
+    }
+
+    /**
+     * Estimates the footprint of a primitive array.
+     * @param length array length
+     * @param elementBytes bytes per element, e.g. 8 for double
+     * @return estimated bytes
+     */
+    public static long arrayBytes(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) elementBytes * length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long referenceArray(int length) {
+        return length == 0 ? 0 : align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    private static int arrayListCapacity(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int capacity = 10;
+        while (capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return capacity;
+    }
+
+    private static long hashMap(int entries) {
+        if (entries == 0) {
+            return HASH_MAP;
+        }
+        int table = 16;
+        while (entries > table * 3 / 4) {
+            table <<= 1;
+        }
+        return HASH_MAP + referenceArray(table) + (long) entries * HASH_NODE;
+    }
+
+    private static long boxed(int value) {
+        // Integer.valueOf caches -128..127
+        return value >= -128 && value <= 127 ? 0 : INTEGER;
+    }
+
+    private static long boxedKeys(int n) {
+        return Math.max(0, n - 128) * INTEGER;
+    }
+
+    private static long string(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        long bytes = latin1 ? value.length() : 2L * value.length();
+        return STRING + align(ARRAY_HEADER + bytes);
+    }
+
+    /**
+     * Footprint estimate of a graph by part.
+     */
+    public static class GraphFootprint {
+        private final int vertices;
+        private final int edges;
+        private final long adjacencyBytes;
+        private final long edgeBytes;
+        private final long labelBytes;
+
+        GraphFootprint(int vertices, int edges, long adjacencyBytes, long edgeBytes, long labelBytes) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.adjacencyBytes = adjacencyBytes;
+            this.edgeBytes = edgeBytes;
+            this.labelBytes = labelBytes;
+        }
+
+        /**
+         * Gets the bytes of the vertex map and adjacency lists, without the edges.
+         * @return adjacency bytes
+         */
+        public long getAdjacencyBytes() {
+            return adjacencyBytes;
+        }
+
+        /**
+         * Gets the bytes of the edge objects.
+         * @return edge bytes
+         */
+        public long getEdgeBytes() {
+            return edgeBytes;
+        }
+
+        /**
+         * Gets the bytes of the label map and label strings.
+         * @return label bytes
+         */
+        public long getLabelBytes() {
+            return labelBytes;
+        }
+
+        /**
+         * Gets the total estimated bytes.
+         * @return total bytes
+         */
+        public long getTotalBytes() {
+            return adjacencyBytes + edgeBytes + labelBytes;
+        }
+
+        /**
+         * Gets the bytes the same topology would take in CSR form.
+         * @return CSR bytes
+         */
+        public long getCsrBytes() {
+            return csrBytes(vertices, edges);
+        }
+
+        /**
+         * Prints the estimate to console.
+         */
+        public void print() {
+            System.out.println(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Graph footprint (%d vertices, %d edges): adjacency = %d B, edges = %d B, "
+                                 + "labels = %d B, total = %d B (CSR: %d B)",
+                                 vertices, edges, adjacencyBytes, edgeBytes, labelBytes,
+                                 getTotalBytes(), getCsrBytes());
+        }
+    }
+}
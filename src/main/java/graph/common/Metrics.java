@@ -1,7 +1,17 @@
 package graph.common;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Interface for collecting performance metrics during algorithm execution.
+ * Counters used in hot loops should be registered once with
+ * {@link #registerCounter(String)} and incremented through the returned handle,
+ * which avoids a name lookup per increment.
+ *
+ * Methods beyond timers and named counters have default implementations, so
+ * existing implementations keep compiling: handles fall back to named
+ * counters, and phases are not recorded.
  */
 public interface Metrics {
     /**
@@ -44,6 +54,34 @@ public interface Metrics {
      */
     void incrementCounter(String counterName, long amount);
 
+    /**
+     * Registers a counter and returns its handle.
+     * Registering the same name again returns the same handle.
+     * Handles stay valid across {@link #reset()}.
+     * @param counterName the name of the counter
+     * @return handle for {@link #incrementCounter(int)}
+     */
+    default int registerCounter(String counterName) {
+        return CounterNames.register(counterName);
+    }
+
+    /**
+     * Increments a registered counter.
+     * @param handle handle from {@link #registerCounter(String)}
+     */
+    default void incrementCounter(int handle) {
+        incrementCounter(handle, 1);
+    }
+
+    /**
+     * Increments a registered counter by a specific amount.
+     * @param handle handle from {@link #registerCounter(String)}
+     * @param amount the amount to increment
+     */
+    default void incrementCounter(int handle, long amount) {
+        incrementCounter(CounterNames.name(handle), amount);
+    }
+
     /**
      * Gets the value of a named counter.
      * @param counterName the name of the counter
@@ -51,6 +89,66 @@ public interface Metrics {
      */
     long getCounter(String counterName);
 
+    /**
+     * Gets a snapshot of all counters.
+     * @return counter values by name, in registration order
+     */
+    default Map<String, Long> getCounters() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Starts a named phase. Phases nest: a phase started while another one
+     * runs must be stopped first. Phase latencies are collected in one
+     * histogram per name that survives {@link #reset()}, so repeated runs
+     * build up a latency distribution.
+     * @param phaseName the phase name, e.g. "scc"
+     */
+    default void startPhase(String phaseName) {
+    }
+
+    /**
+     * Stops the innermost running phase and records its latency.
+     * @param phaseName the phase name
+     * @throws IllegalStateException if the phase is not the innermost running one
+     */
+    default void stopPhase(String phaseName) {
+    }
+
+    /**
+     * Gets the latency histogram of a phase.
+     * @param phaseName the phase name
+     * @return the histogram, or null if the phase never completed
+     */
+    default LatencyHistogram getPhaseHistogram(String phaseName) {
+        return null;
+    }
+
+    /**
+     * Gets the bytes allocated by the thread running a phase, summed over
+     * all completed runs of the phase (nested phases included), measured
+     * with {@code com.sun.management.ThreadMXBean}. Survives {@link #reset()}.
+     * @param phaseName the phase name
+     * @return allocated bytes, or -1 if allocations are not tracked
+     */
+    default long getPhaseAllocatedBytes(String phaseName) {
+        return -1;
+    }
+
+    /**
+     * Gets the histograms of all phases that completed at least once.
+     * @return histograms by phase name
+     */
+    default Map<String, LatencyHistogram> getPhaseHistograms() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Removes all phase histograms.
+     */
+    default void clearPhases() {
+    }
+
     /**
      * Prints all metrics to console.
      */
@@ -0,0 +1,321 @@
+package graph.common;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the counters, timers and phase histograms of registered
+ * Metrics collectors in Prometheus text exposition format and as JSON.
+ *
+ * Output can be served from an embedded HTTP endpoint on the loopback
+ * interface ({@code /metrics} and {@code /metrics.json}) and/or written to
+ * a file periodically. Every collector is exported with a {@code source}
+ * label. Collectors read while algorithms run on other threads should be
+ * {@link ConcurrentMetrics}; other implementations are not thread-safe.
+ *
+ * Operation counters are exported as gauges: collectors owned by an
+ * algorithm are reset at the start of every run, so their counters hold the
+ * counts of the last run rather than growing monotonically. Phase latencies
+ * and allocations survive resets and are exported as summaries and counters.
+ */
+public class MetricsExporter implements AutoCloseable {
+    /** Output format. */
+    public enum Format {
+        PROMETHEUS,
+        JSON
+    }
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final String prefix;
+    private final Map<String, Metrics> sources;
+    private HttpServer server;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an exporter with metric names prefixed by "graph".
+     */
+    public MetricsExporter() {
+        this("graph");
+    }
+
+    /**
+     * Creates an exporter.
+     * @param prefix prefix of every Prometheus metric name
+     */
+    public MetricsExporter(String prefix) {
+        this.prefix = sanitize(prefix);
+        this.sources = new LinkedHashMap<>();
+    }
+
+    /**
+     * Registers a collector under a source name, e.g. "scc".
+     * Registering a name again replaces the previous collector.
+     * @param source the source name
+     * @param metrics the collector
+     * @return this exporter
+     */
+    public synchronized MetricsExporter register(String source, Metrics metrics) {
+        sources.put(source, metrics);
+        return this;
+    }
+
+    private synchronized Map<String, Metrics> snapshotSources() {
+        return new LinkedHashMap<>(sources);
+    }
+
+    /**
+     * Formats all metrics in Prometheus text exposition format.
+     * Counters become gauges {@code <prefix>_<name>}, phases become summaries
+     * {@code <prefix>_phase_latency_seconds} with p50/p99/p999 quantiles, and
+     * allocations per phase become {@code <prefix>_phase_allocated_bytes_total}.
+     * @return exposition text
+     */
+    public String toPrometheus() {
+        // Samples grouped by metric family so each family has one TYPE line
+        Map<String, String> types = new LinkedHashMap<>();
+        Map<String, List<String>> samples = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Metrics> entry : snapshotSources().entrySet()) {
+            String source = "source=\"" + escape(entry.getKey()) + "\"";
+            Metrics metrics = entry.getValue();
+
+            String elapsed = prefix + "_elapsed_seconds";
+            add(types, samples, elapsed, "gauge",
+                elapsed + "{" + source + "} " + seconds(elapsedNanos(metrics)));
+
+            for (Map.Entry<String, Long> counter : metrics.getCounters().entrySet()) {
+                String name = prefix + "_" + sanitize(counter.getKey());
+                add(types, samples, name, "gauge", name + "{" + source + "} " + counter.getValue());
+            }
+
+            String latency = prefix + "_phase_latency_seconds";
+            String max = prefix + "_phase_latency_max_seconds";
+            String allocated = prefix + "_phase_allocated_bytes_total";
+            for (Map.Entry<String, LatencyHistogram> phase : metrics.getPhaseHistograms().entrySet()) {
+                String labels = source + ",phase=\"" + escape(phase.getKey()) + "\"";
+                LatencyHistogram histogram = phase.getValue();
+                for (double q : QUANTILES) {
+                    add(types, samples, latency, "summary", latency + "{" + labels + ",quantile=\"" + q + "\"} "
+                        + seconds(histogram.getPercentile(q * 100)));
+                }
+                add(types, samples, latency, "summary",
+                    latency + "_sum{" + labels + "} " + seconds(histogram.getSum()));
+                add(types, samples, latency, "summary",
+                    latency + "_count{" + labels + "} " + histogram.getCount());
+                add(types, samples, max, "gauge", max + "{" + labels + "} " + seconds(histogram.getMax()));
+                long allocatedBytes = metrics.getPhaseAllocatedBytes(phase.getKey());
+                if (allocatedBytes >= 0) {
+                    add(types, samples, allocated, "counter", allocated + "{" + labels + "} " + allocatedBytes);
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, List<String>> family : samples.entrySet()) {
+            sb.append("# TYPE ").append(family.getKey()).append(' ').append(types.get(family.getKey())).append('\n');
+            for (String line : family.getValue()) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the elapsed time to export. The exporter runs on its own thread,
+     * where the per-thread timer of ConcurrentMetrics never ran, so those
+     * export the total over all threads instead.
+     */
+    private static long elapsedNanos(Metrics metrics) {
+        if (metrics instanceof ConcurrentMetrics) {
+            return ((ConcurrentMetrics) metrics).getTotalTimeNanos();
+        }
+        return metrics.getElapsedTimeNanos();
+    }
+
+    private static void add(Map<String, String> types, Map<String, List<String>> samples,
+                            String family, String type, String line) {
+        types.putIfAbsent(family, type);
+        samples.computeIfAbsent(family, f -> new ArrayList<>()).add(line);
+    }
+
+    /**
+     * Formats all metrics as JSON: one object per source with elapsed time,
+     * counters and phase latency statistics in nanoseconds.
+     * @return JSON text
+     */
+    public String toJson() {
+        JsonObject root = new JsonObject();
+        for (Map.Entry<String, Metrics> entry : snapshotSources().entrySet()) {
+            Metrics metrics = entry.getValue();
+            JsonObject source = new JsonObject();
+            source.addProperty("elapsedNanos", elapsedNanos(metrics));
+
+            JsonObject counters = new JsonObject();
+            for (Map.Entry<String, Long> counter : metrics.getCounters().entrySet()) {
+                counters.addProperty(counter.getKey(), counter.getValue());
+            }
+            source.add("counters", counters);
+
+            JsonObject phases = new JsonObject();
+            for (Map.Entry<String, LatencyHistogram> phase : metrics.getPhaseHistograms().entrySet()) {
+                LatencyHistogram histogram = phase.getValue();
+                JsonObject stats = new JsonObject();
+                stats.addProperty("count", histogram.getCount());
+                stats.addProperty("meanNanos", histogram.getMean());
+                stats.addProperty("p50Nanos", histogram.getPercentile(50));
+                stats.addProperty("p99Nanos", histogram.getPercentile(99));
+                stats.addProperty("p999Nanos", histogram.getPercentile(99.9));
+                stats.addProperty("maxNanos", histogram.getMax());
+                stats.addProperty("allocatedBytes", metrics.getPhaseAllocatedBytes(phase.getKey()));
+                phases.add(phase.getKey(), stats);
+            }
+            source.add("phases", phases);
+            root.add(entry.getKey(), source);
+        }
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        return gson.toJson(root);
+    }
+
+    /**
+     * Formats all metrics.
+     * @param format the output format
+     * @return formatted text
+     */
+    public String format(Format format) {
+        return format == Format.JSON ? toJson() : toPrometheus();
+    }
+
+    /**
+     * Starts the HTTP endpoint on the loopback interface.
+     * @param port the port, or 0 for any free port
+     * @return the bound port
+     * @throws IOException if the server cannot be started
+     */
+    public synchronized int startServer(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server already running on port " + getPort());
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", exchange ->
+            respond(exchange, "text/plain; version=0.0.4; charset=utf-8", this::toPrometheus));
+        http.createContext("/metrics.json", exchange ->
+            respond(exchange, "application/json; charset=utf-8", this::toJson));
+        http.start();
+        server = http;
+        return getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body) throws IOException {
+        try (HttpExchange ex = exchange) {
+            if (!"GET".equals(ex.getRequestMethod())) {
+                ex.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", contentType);
+            ex.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Gets the port of the running HTTP endpoint.
+     * @return the port, or -1 if not running
+     */
+    public synchronized int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    /**
+     * Writes all metrics to a file, replacing it atomically.
+     * @param file the target file
+     * @param format the output format
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file, Format format) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, format(format).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Starts writing all metrics to a file at a fixed period on a daemon thread.
+     * @param file the target file
+     * @param format the output format
+     * @param periodMillis time between writes
+     */
+    public synchronized void startFileExport(Path file, Format format, long periodMillis) {
+        if (scheduler != null) {
+            throw new IllegalStateException("File export already running");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                writeTo(file, format);
+            } catch (IOException e) {
+                System.err.println("Metrics export to " + file + " failed: " + e.getMessage());
+            }
+        }, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the HTTP endpoint and the periodic file export.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private static String sanitize(String name) {
+        String clean = name.replaceAll("[^a-zA-Z0-9_]", "_");
+        return clean.isEmpty() || Character.isDigit(clean.charAt(0)) ? "_" + clean : clean;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
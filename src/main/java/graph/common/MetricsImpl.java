@@ -1,20 +1,40 @@
 package graph.common;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Default implementation of the Metrics interface.
  * Tracks operation counters and execution time.
+ * Counters live in a plain array indexed by their handle, so an increment
+ * through a handle is a single array update.
+ * Not thread-safe: use {@link ConcurrentMetrics} when threads share a collector.
  */
 public class MetricsImpl implements Metrics {
-    private final Map<String, Long> counters;
+    private final Map<String, Integer> handles;
+    private final List<String> names;
+    private long[] values;
+    // Counters given an amount since the last reset, which may have left them at zero
+    private boolean[] added;
+    private final PhaseStack phaseStack;
+    private final Map<String, LatencyHistogram> phases;
+    private final Map<String, Long> phaseAllocations;
     private long startTime;
     private long endTime;
     private boolean timerRunning;
 
     public MetricsImpl() {
-        this.counters = new HashMap<>();
+        this.handles = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.values = new long[16];
+        this.added = new boolean[16];
+        this.phaseStack = new PhaseStack();
+        this.phases = new LinkedHashMap<>();
+        this.phaseAllocations = new HashMap<>();
         this.startTime = 0;
         this.endTime = 0;
         this.timerRunning = false;
@@ -22,7 +42,8 @@ public class MetricsImpl implements Metrics {
 
     @Override
     public void reset() {
-        counters.clear();
+        Arrays.fill(values, 0);
+        Arrays.fill(added, false);
         startTime = 0;
         endTime = 0;
         timerRunning = false;
@@ -55,6 +76,33 @@ public class MetricsImpl implements Metrics {
         return getElapsedTimeNanos() / 1_000_000.0;
     }
 
+    @Override
+    public int registerCounter(String counterName) {
+        Integer handle = handles.get(counterName);
+        if (handle != null) {
+            return handle;
+        }
+        int h = names.size();
+        if (h == values.length) {
+            values = Arrays.copyOf(values, h * 2);
+            added = Arrays.copyOf(added, h * 2);
+        }
+        names.add(counterName);
+        handles.put(counterName, h);
+        return h;
+    }
+
+    @Override
+    public void incrementCounter(int handle) {
+        values[handle]++;
+    }
+
+    @Override
+    public void incrementCounter(int handle, long amount) {
+        values[handle] += amount;
+        added[handle] = true;
+    }
+
     @Override
     public void incrementCounter(String counterName) {
         incrementCounter(counterName, 1);
@@ -62,12 +110,61 @@ public class MetricsImpl implements Metrics {
 
     @Override
     public void incrementCounter(String counterName, long amount) {
-        counters.put(counterName, counters.getOrDefault(counterName, 0L) + amount);
+        incrementCounter(registerCounter(counterName), amount);
     }
 
     @Override
     public long getCounter(String counterName) {
-        return counters.getOrDefault(counterName, 0L);
+        Integer handle = handles.get(counterName);
+        return handle == null ? 0 : values[handle];
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (int h = 0; h < names.size(); h++) {
+            snapshot.put(names.get(h), values[h]);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void startPhase(String phaseName) {
+        phaseStack.push(phaseName);
+    }
+
+    @Override
+    public void stopPhase(String phaseName) {
+        long elapsed = phaseStack.pop(phaseName);
+        phases.computeIfAbsent(phaseName, name -> new LatencyHistogram()).record(elapsed);
+        long allocated = phaseStack.getLastAllocatedBytes();
+        if (allocated >= 0) {
+            phaseAllocations.merge(phaseName, allocated, Long::sum);
+        }
+    }
+
+    @Override
+    public long getPhaseAllocatedBytes(String phaseName) {
+        if (!PhaseStack.isAllocationTrackingSupported()) {
+            return -1;
+        }
+        return phaseAllocations.getOrDefault(phaseName, 0L);
+    }
+
+    @Override
+    public LatencyHistogram getPhaseHistogram(String phaseName) {
+        return phases.get(phaseName);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getPhaseHistograms() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    @Override
+    public void clearPhases() {
+        phases.clear();
+        phaseAllocations.clear();
     }
 
     @Override
@@ -82,9 +179,32 @@ public class MetricsImpl implements Metrics {
         sb.append(String.format("Execution Time: %.3f ms (%.0f ns)\n", 
                                getElapsedTimeMillis(), (double) getElapsedTimeNanos()));
         sb.append("Operation Counters:\n");
-        for (Map.Entry<String, Long> entry : counters.entrySet()) {
-            sb.append(String.format("  %s: %d\n", entry.getKey(), entry.getValue()));
+        // Counters not incremented since the last reset are omitted
+        for (int h = 0; h < names.size(); h++) {
+            if (values[h] != 0 || added[h]) {
+                sb.append(String.format("  %s: %d\n", names.get(h), values[h]));
+            }
+        }
+        if (!phases.isEmpty()) {
+            sb.append("Phase Latencies:\n");
+            for (Map.Entry<String, LatencyHistogram> entry : phases.entrySet()) {
+                sb.append(String.format("  %s: %s%s\n", entry.getKey(), entry.getValue().summary(),
+                                        allocationSummary(getPhaseAllocatedBytes(entry.getKey()), entry.getValue())));
+            }
         }
         return sb.toString();
     }
+
+    /**
+     * Formats the mean allocation per run of a phase.
+     * @param allocated total allocated bytes, or -1 if unknown
+     * @param histogram the phase histogram
+     * @return suffix for the phase line, empty if unknown
+     */
+    static String allocationSummary(long allocated, LatencyHistogram histogram) {
+        if (allocated < 0 || histogram.getCount() == 0) {
+            return "";
+        }
+        return String.format(", alloc=%d B/run", allocated / histogram.getCount());
+    }
 }
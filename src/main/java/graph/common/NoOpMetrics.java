@@ -0,0 +1,107 @@
+package graph.common;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Metrics implementation that records nothing.
+ * Every method is empty, so once inlined the JIT removes instrumentation
+ * from hot loops entirely. Use {@link #INSTANCE}.
+ */
+public final class NoOpMetrics implements Metrics {
+    /** The shared instance. */
+    public static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    private NoOpMetrics() {
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public void startTimer() {
+    }
+
+    @Override
+    public void stopTimer() {
+    }
+
+    @Override
+    public long getElapsedTimeNanos() {
+        return 0;
+    }
+
+    @Override
+    public double getElapsedTimeMillis() {
+        return 0;
+    }
+
+    @Override
+    public void incrementCounter(String counterName) {
+    }
+
+    @Override
+    public void incrementCounter(String counterName, long amount) {
+    }
+
+    @Override
+    public int registerCounter(String counterName) {
+        return 0;
+    }
+
+    @Override
+    public void incrementCounter(int handle) {
+    }
+
+    @Override
+    public void incrementCounter(int handle, long amount) {
+    }
+
+    @Override
+    public long getCounter(String counterName) {
+        return 0;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void startPhase(String phaseName) {
+    }
+
+    @Override
+    public void stopPhase(String phaseName) {
+    }
+
+    @Override
+    public LatencyHistogram getPhaseHistogram(String phaseName) {
+        return null;
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getPhaseHistograms() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public long getPhaseAllocatedBytes(String phaseName) {
+        return -1;
+    }
+
+    @Override
+    public void clearPhases() {
+    }
+
+    @Override
+    public void printMetrics() {
+        System.out.println(getMetricsReport());
+    }
+
+    @Override
+    public String getMetricsReport() {
+        return "=== Metrics Report ===\nMetrics disabled\n";
+    }
+}
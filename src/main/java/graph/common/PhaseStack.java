@@ -0,0 +1,79 @@
+package graph.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+
+/**
+ * Stack of running phases of one thread, so phases can nest.
+ * Besides the start time, each entry remembers how many bytes the thread
+ * had allocated, when the JVM can report it.
+ */
+final class PhaseStack {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final ArrayDeque<String> names = new ArrayDeque<>();
+    private final ArrayDeque<long[]> starts = new ArrayDeque<>();
+    private long lastAllocatedBytes;
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the JVM reports per-thread allocated bytes.
+     * @return true if allocation tracking works
+     */
+    static boolean isAllocationTrackingSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread.
+     * @return allocated bytes, or -1 if the JVM cannot report them
+     */
+    static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Starts a phase inside the current one.
+     * @param name the phase name
+     */
+    void push(String name) {
+        names.push(name);
+        starts.push(new long[]{System.nanoTime(), currentThreadAllocatedBytes()});
+    }
+
+    /**
+     * Stops the innermost phase.
+     * @param name the phase name, which must match the innermost phase
+     * @return elapsed time of the phase in nanoseconds
+     * @throws IllegalStateException if the phase is not the innermost running one
+     */
+    long pop(String name) {
+        if (!name.equals(names.peek())) {
+            throw new IllegalStateException("Phase " + name + " is not running; innermost is " + names.peek());
+        }
+        names.pop();
+        long[] start = starts.pop();
+        long elapsed = System.nanoTime() - start[0];
+        lastAllocatedBytes = start[1] < 0 ? -1 : currentThreadAllocatedBytes() - start[1];
+        return elapsed;
+    }
+
+    /**
+     * Gets the bytes the thread allocated during the phase stopped last,
+     * including nested phases.
+     * @return allocated bytes, or -1 if the JVM cannot report them
+     */
+    long getLastAllocatedBytes() {
+        return lastAllocatedBytes;
+    }
+}
@@ -0,0 +1,150 @@
+package graph.common;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Metrics wrapper that forwards only every Nth single-step increment of a
+ * registered counter, scaled by N, to a delegate.
+ * Counts are estimates that can fall short by up to N - 1 per counter;
+ * increments with an explicit amount, name-based increments, timers and
+ * phases are forwarded unchanged. Useful when the delegate is expensive, e.g. a
+ * {@link ConcurrentMetrics} shared between threads. The wrapper itself is
+ * not thread-safe; give each thread its own wrapper over the shared delegate.
+ */
+public class SamplingMetrics implements Metrics {
+    private final Metrics delegate;
+    private final int every;
+    private int[] ticks;
+
+    /**
+     * Creates a sampling wrapper.
+     * @param delegate collector receiving the sampled counts
+     * @param every sampling period N (1 forwards everything)
+     */
+    public SamplingMetrics(Metrics delegate, int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("Sampling period must be positive: " + every);
+        }
+        this.delegate = delegate;
+        this.every = every;
+        this.ticks = new int[16];
+    }
+
+    /**
+     * Gets the sampling period.
+     * @return N
+     */
+    public int getSamplingPeriod() {
+        return every;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(ticks, 0);
+        delegate.reset();
+    }
+
+    @Override
+    public void startTimer() {
+        delegate.startTimer();
+    }
+
+    @Override
+    public void stopTimer() {
+        delegate.stopTimer();
+    }
+
+    @Override
+    public long getElapsedTimeNanos() {
+        return delegate.getElapsedTimeNanos();
+    }
+
+    @Override
+    public double getElapsedTimeMillis() {
+        return delegate.getElapsedTimeMillis();
+    }
+
+    @Override
+    public void incrementCounter(String counterName) {
+        delegate.incrementCounter(counterName);
+    }
+
+    @Override
+    public void incrementCounter(String counterName, long amount) {
+        delegate.incrementCounter(counterName, amount);
+    }
+
+    @Override
+    public int registerCounter(String counterName) {
+        // Handles are the delegate's, so both sides index the same counter
+        int handle = delegate.registerCounter(counterName);
+        if (handle >= ticks.length) {
+            ticks = Arrays.copyOf(ticks, Math.max(handle + 1, ticks.length * 2));
+        }
+        return handle;
+    }
+
+    @Override
+    public void incrementCounter(int handle) {
+        if (++ticks[handle] == every) {
+            ticks[handle] = 0;
+            delegate.incrementCounter(handle, every);
+        }
+    }
+
+    @Override
+    public void incrementCounter(int handle, long amount) {
+        delegate.incrementCounter(handle, amount);
+    }
+
+    @Override
+    public long getCounter(String counterName) {
+        return delegate.getCounter(counterName);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        return delegate.getCounters();
+    }
+
+    @Override
+    public void startPhase(String phaseName) {
+        delegate.startPhase(phaseName);
+    }
+
+    @Override
+    public void stopPhase(String phaseName) {
+        delegate.stopPhase(phaseName);
+    }
+
+    @Override
+    public LatencyHistogram getPhaseHistogram(String phaseName) {
+        return delegate.getPhaseHistogram(phaseName);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getPhaseHistograms() {
+        return delegate.getPhaseHistograms();
+    }
+
+    @Override
+    public long getPhaseAllocatedBytes(String phaseName) {
+        return delegate.getPhaseAllocatedBytes(phaseName);
+    }
+
+    @Override
+    public void clearPhases() {
+        delegate.clearPhases();
+    }
+
+    @Override
+    public void printMetrics() {
+        System.out.println(getMetricsReport());
+    }
+
+    @Override
+    public String getMetricsReport() {
+        return delegate.getMetricsReport();
+    }
+}
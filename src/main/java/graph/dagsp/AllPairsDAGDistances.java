@@ -0,0 +1,342 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All-pairs shortest or longest distances for a DAG, written to a
+ * memory-mapped file instead of the heap.
+ *
+ * Sources are processed in blocks that share one topological sweep
+ * (see {@link DAGShortestPath#shortestPaths(int...)}); worker threads each
+ * own one block of scratch memory, and the block size and thread count are
+ * chosen so that the scratch memory of all workers fits the configured budget.
+ * Workers write whole regions of up to 1 GB of rows through one mapping
+ * each, and the regions are flushed to disk once at the end.
+ *
+ * File layout (big-endian): a 16-byte header of {@code int} magic, vertex
+ * count, bytes per value and a longest-path flag, followed by the V x V
+ * matrix in row-major order (row = source, column = target). Unreachable
+ * pairs hold positive infinity for shortest paths and negative infinity for
+ * longest paths.
+ */
+public class AllPairsDAGDistances {
+    /** Magic number at the start of every distance file ("APSP"). */
+    public static final int MAGIC = 0x41505350;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_LANES = 64;
+    private static final long MAX_REGION_BYTES = 1L << 30;
+    private static final int REGIONS_PER_THREAD = 4;
+
+    /**
+     * Storage precision of distances in the output file.
+     */
+    public enum Precision {
+        FLOAT(4), DOUBLE(8);
+
+        private final int bytes;
+
+        Precision(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Gets the number of bytes per stored value.
+         * @return value size in bytes
+         */
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    private final Graph graph;
+    private final boolean longest;
+    private final Precision precision;
+    private final long memoryBudgetBytes;
+    private final int parallelism;
+    private final Metrics metrics;
+
+    /**
+     * Creates an all-pairs engine with double precision, a 256 MB budget
+     * and one worker per available processor.
+     * @param graph the input DAG
+     * @param longest true for longest distances, false for shortest
+     */
+    public AllPairsDAGDistances(Graph graph, boolean longest) {
+        this(graph, longest, Precision.DOUBLE, 256L << 20, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an all-pairs engine.
+     * @param graph the input DAG
+     * @param longest true for longest distances, false for shortest
+     * @param precision storage precision of the output file
+     * @param memoryBudgetBytes upper bound for the heap scratch memory of all workers
+     * @param parallelism maximum number of worker threads
+     */
+    public AllPairsDAGDistances(Graph graph, boolean longest, Precision precision,
+                                long memoryBudgetBytes, int parallelism) {
+        if (memoryBudgetBytes <= 0 || parallelism < 1) {
+            throw new IllegalArgumentException("Memory budget and parallelism must be positive");
+        }
+        this.graph = graph;
+        this.longest = longest;
+        this.precision = precision;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.parallelism = parallelism;
+        this.metrics = new MetricsImpl();
+    }
+
+    /**
+     * Computes all distances and writes them to the output file.
+     * @param output path of the file to create or overwrite
+     * @return a reader over the written table
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public Table compute(Path output) throws IOException {
+        metrics.reset();
+        metrics.startTimer();
+
+        TopologicalPlan plan = new TopologicalPlan(graph);
+        int n = plan.getVertexCount();
+        int valueBytes = precision.getBytes();
+
+        // Scratch per worker: V doubles per lane and one activity flag per vertex
+        long laneBytes = (long) n * Double.BYTES;
+        int threads = (int) Math.max(1, Math.min(parallelism, memoryBudgetBytes / Math.max(1, laneBytes + n)));
+        long lanesFit = (memoryBudgetBytes / threads - n) / Math.max(1, laneBytes);
+        if (lanesFit < 1) {
+            metrics.stopTimer();
+            throw new IllegalArgumentException("Memory budget of " + memoryBudgetBytes +
+                                               " bytes is too small for " + n + " vertices");
+        }
+        // A mapped region must stay below 2 GB
+        long rowBytes = (long) n * valueBytes;
+        long lanesMappable = Integer.MAX_VALUE / Math.max(1, rowBytes);
+        int lanes = (int) Math.max(1, Math.min(MAX_LANES, Math.min(lanesFit, lanesMappable)));
+        long scratchValues = (long) n * lanes;
+        if (scratchValues > Integer.MAX_VALUE || scratchValues * Double.BYTES + n > memoryBudgetBytes / threads) {
+            metrics.stopTimer();
+            throw new IllegalArgumentException("Scratch memory of " + n + " vertices x " + lanes +
+                                               " lanes exceeds the memory budget");
+        }
+        int blocks = n == 0 ? 0 : (n + lanes - 1) / lanes;
+
+        // Workers claim regions of consecutive blocks and map each region once;
+        // a few regions per worker keep the load balanced
+        long blocksMappable = Math.max(1, MAX_REGION_BYTES / Math.max(1, lanes * rowBytes));
+        long blocksShared = Math.max(1, ((long) blocks + REGIONS_PER_THREAD * threads - 1)
+                                        / (REGIONS_PER_THREAD * threads));
+        int blocksPerRegion = (int) Math.min(blocksMappable, blocksShared);
+        int regions = (blocks + blocksPerRegion - 1) / blocksPerRegion;
+
+        int[] sources = new int[n];
+        for (int v = 0; v < n; v++) {
+            sources[v] = v;
+        }
+
+        AtomicInteger nextRegion = new AtomicInteger();
+        AtomicLong edgeScans = new AtomicLong();
+        List<MappedByteBuffer> written = new CopyOnWriteArrayList<>();
+
+        try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "rw")) {
+            file.setLength(0);
+            file.setLength(HEADER_BYTES + (long) n * n * valueBytes);
+            FileChannel channel = file.getChannel();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(n).putInt(valueBytes).putInt(longest ? 1 : 0).flip();
+            channel.write(header, 0);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Callable<Void>> workers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    workers.add(() -> {
+                        double[] dist = new double[(int) scratchValues];
+                        int r;
+                        while ((r = nextRegion.getAndIncrement()) < regions) {
+                            int firstRow = r * blocksPerRegion * lanes;
+                            int rows = Math.min(blocksPerRegion * lanes, n - firstRow);
+                            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE,
+                                                                  HEADER_BYTES + firstRow * rowBytes,
+                                                                  rows * rowBytes);
+                            for (int first = firstRow; first < firstRow + rows; first += lanes) {
+                                int count = Math.min(lanes, firstRow + rows - first);
+                                edgeScans.addAndGet(BlockSweep.sweep(plan, sources, first, count,
+                                                                     longest, dist, null));
+                                writeBlock(region, plan, dist, count);
+                            }
+                            written.add(region);
+                        }
+                        return null;
+                    });
+                }
+                for (Future<Void> future : executor.invokeAll(workers)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while computing distances", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException("Distance computation failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // Flush once, after all regions are written
+            for (MappedByteBuffer region : written) {
+                region.force();
+            }
+        } finally {
+            metrics.incrementCounter("edge_scans", edgeScans.get());
+            metrics.incrementCounter("blocks", blocks);
+            metrics.incrementCounter("mapped_regions", written.size());
+            metrics.incrementCounter("worker_threads", threads);
+            metrics.stopTimer();
+        }
+
+        return Table.open(output);
+    }
+
+    /**
+     * Writes the rows of one block at the current position of its mapped region.
+     * The block's distances are vertex-major with {@code count} lanes.
+     */
+    private void writeBlock(MappedByteBuffer region, TopologicalPlan plan, double[] dist, int count) {
+        int n = plan.getVertexCount();
+        int[] position = plan.getPositions();
+        for (int j = 0; j < count; j++) {
+            for (int v = 0; v < n; v++) {
+                double d = dist[position[v] * count + j];
+                if (precision == Precision.FLOAT) {
+                    region.putFloat((float) d);
+                } else {
+                    region.putDouble(d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the metrics collected during the last computation.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Read access to a distance file written by {@link #compute(Path)}.
+     */
+    public static class Table implements Closeable {
+        private final FileChannel channel;
+        private final int vertices;
+        private final int valueBytes;
+        private final boolean longest;
+
+        private Table(FileChannel channel, int vertices, int valueBytes, boolean longest) {
+            this.channel = channel;
+            this.vertices = vertices;
+            this.valueBytes = valueBytes;
+            this.longest = longest;
+        }
+
+        /**
+         * Opens an existing distance file.
+         * @param path the file
+         * @return table reader
+         * @throws IOException if the file cannot be read or is not a distance file
+         */
+        public static Table open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException("Not a distance file: " + path);
+            }
+            int vertices = header.getInt();
+            int valueBytes = header.getInt();
+            boolean longest = header.getInt() != 0;
+            return new Table(channel, vertices, valueBytes, longest);
+        }
+
+        /**
+         * Gets the distance between two vertices.
+         * @param from source vertex
+         * @param to target vertex
+         * @return stored distance (infinite if unreachable)
+         * @throws IOException if the file cannot be read
+         */
+        public double getDistance(int from, int to) throws IOException {
+            ByteBuffer value = ByteBuffer.allocate(valueBytes);
+            channel.read(value, HEADER_BYTES + ((long) from * vertices + to) * valueBytes);
+            value.flip();
+            return valueBytes == Float.BYTES ? value.getFloat() : value.getDouble();
+        }
+
+        /**
+         * Reads all distances from one source.
+         * @param from source vertex
+         * @return distances indexed by target vertex
+         * @throws IOException if the file cannot be read
+         */
+        public double[] getRow(int from) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(vertices * valueBytes);
+            long offset = HEADER_BYTES + (long) from * vertices * valueBytes;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of distance file");
+                }
+            }
+            buffer.flip();
+            double[] row = new double[vertices];
+            for (int v = 0; v < vertices; v++) {
+                row[v] = valueBytes == Float.BYTES ? buffer.getFloat() : buffer.getDouble();
+            }
+            return row;
+        }
+
+        /**
+         * Gets the number of vertices (rows and columns).
+         * @return vertex count
+         */
+        public int getVertexCount() {
+            return vertices;
+        }
+
+        /**
+         * Checks if the table holds longest distances.
+         * @return true for longest, false for shortest
+         */
+        public boolean isLongest() {
+            return longest;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
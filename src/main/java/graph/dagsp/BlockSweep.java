@@ -0,0 +1,112 @@
+package graph.dagsp;
+
+import java.util.Arrays;
+
+/**
+ * Relaxation sweep for a block of sources sharing one pass over the edges.
+ * Distances are stored vertex-major by topological position:
+ * the value for position i and lane j lives at {@code i * lanes + j}, so every
+ * edge is read once and its weight is applied to all lanes in a tight inner loop.
+ * Unreached lanes hold an infinity, which no finite relaxation can improve,
+ * so the inner loop needs no reachability check.
+ */
+final class BlockSweep {
+
+    private BlockSweep() {
+    }
+
+    /**
+     * Runs the sweep for {@code lanes} sources.
+     * @param plan the topological plan
+     * @param sources source vertices, one per lane
+     * @param first index of the first source of this block in {@code sources}
+     * @param lanes number of sources in the block
+     * @param longest true for longest paths, false for shortest
+     * @param dist output distances, at least V * lanes long
+     * @param pred output predecessor positions (or null to skip), at least V * lanes long
+     * @return number of edge scans performed
+     */
+    static long sweep(TopologicalPlan plan, int[] sources, int first, int lanes,
+                      boolean longest, double[] dist, int[] pred) {
+        int n = plan.getVertexCount();
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        double[] weights = plan.getWeights();
+
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        Arrays.fill(dist, 0, n * lanes, unreached);
+        if (pred != null) {
+            Arrays.fill(pred, 0, n * lanes, -1);
+        }
+
+        // Rows become active once any lane reaches them
+        boolean[] active = new boolean[n];
+        int start = n;
+        for (int j = 0; j < lanes; j++) {
+            int pos = plan.getPosition(sources[first + j]);
+            dist[pos * lanes + j] = 0;
+            active[pos] = true;
+            start = Math.min(start, pos);
+        }
+
+        long edgeScans = 0;
+        for (int i = start; i < n; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            int row = i * lanes;
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int t = targets[e];
+                int targetRow = t * lanes;
+                double w = weights[e];
+                edgeScans++;
+                boolean changed = false;
+
+                if (pred == null) {
+                    if (longest) {
+                        for (int j = 0; j < lanes; j++) {
+                            double newDist = dist[row + j] + w;
+                            if (newDist > dist[targetRow + j]) {
+                                dist[targetRow + j] = newDist;
+                                changed = true;
+                            }
+                        }
+                    } else {
+                        for (int j = 0; j < lanes; j++) {
+                            double newDist = dist[row + j] + w;
+                            if (newDist < dist[targetRow + j]) {
+                                dist[targetRow + j] = newDist;
+                                changed = true;
+                            }
+                        }
+                    }
+                } else {
+                    if (longest) {
+                        for (int j = 0; j < lanes; j++) {
+                            double newDist = dist[row + j] + w;
+                            if (newDist > dist[targetRow + j]) {
+                                dist[targetRow + j] = newDist;
+                                pred[targetRow + j] = i;
+                                changed = true;
+                            }
+                        }
+                    } else {
+                        for (int j = 0; j < lanes; j++) {
+                            double newDist = dist[row + j] + w;
+                            if (newDist < dist[targetRow + j]) {
+                                dist[targetRow + j] = newDist;
+                                pred[targetRow + j] = i;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+
+                if (changed) {
+                    active[t] = true;
+                }
+            }
+        }
+        return edgeScans;
+    }
+}
@@ -0,0 +1,202 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+
+/**
+ * Critical Path Method (CPM) analysis of a DAG.
+ * Edge weights are the minimum time between the start of a task and the
+ * start of its successor. One forward sweep over the in-edge index gives
+ * the earliest start of every task, and one backward sweep over the
+ * out-edges gives the latest start that does not delay the project.
+ * The topological plan is kept across analyses until the graph changes.
+ * Complexity: O(V + E)
+ */
+public class CriticalPathAnalysis {
+    private static final double EPSILON = 1e-9;
+
+    private final Graph graph;
+    private final Metrics metrics;
+    private TopologicalPlan plan;
+
+    /**
+     * Creates an analysis that computes its own topological plan.
+     * @param graph the input DAG
+     */
+    public CriticalPathAnalysis(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Creates an analysis reusing a prepared plan, e.g. from {@link DAGShortestPath#prepare()}.
+     * The plan is rebuilt once the graph has changed since it was built.
+     * @param graph the input DAG
+     * @param plan topological plan of the graph
+     */
+    public CriticalPathAnalysis(Graph graph, TopologicalPlan plan) {
+        this.graph = graph;
+        this.plan = plan;
+        this.metrics = new MetricsImpl();
+    }
+
+    /**
+     * Computes earliest/latest start times and floats for all tasks.
+     * @return the analysis result
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public Result analyze() {
+        metrics.reset();
+        metrics.startTimer();
+        if (plan == null || plan.getGraphVersion() != graph.getVersion()) {
+            try {
+                plan = new TopologicalPlan(graph);
+            } catch (IllegalStateException e) {
+                metrics.stopTimer();
+                throw e;
+            }
+        }
+
+        int n = plan.getVertexCount();
+        int[] order = plan.getOrder();
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        double[] weights = plan.getWeights();
+        int[] inOffsets = plan.getInOffsets();
+        int[] inSources = plan.getInSources();
+        double[] inWeights = plan.getInWeights();
+
+        // Forward pass: earliest start, pulled from predecessors
+        double[] es = new double[n];
+        double duration = 0;
+        for (int i = 0; i < n; i++) {
+            if (inOffsets[i] < inOffsets[i + 1]) {
+                double best = Double.NEGATIVE_INFINITY;
+                for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+                    best = Math.max(best, es[inSources[e]] + inWeights[e]);
+                }
+                es[i] = best;
+            }
+            duration = Math.max(duration, es[i]);
+        }
+
+        // Backward pass: latest start and free float, pulled from successors
+        double[] ls = new double[n];
+        double[] freeFloat = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double latest = duration;
+            double free = duration - es[i];
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int j = targets[e];
+                latest = Math.min(latest, ls[j] - weights[e]);
+                free = Math.min(free, es[j] - weights[e] - es[i]);
+            }
+            ls[i] = latest;
+            freeFloat[i] = free;
+        }
+
+        // Map from positions back to vertices
+        Result result = new Result(n, duration);
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            result.earliestStart[v] = es[i];
+            result.latestStart[v] = ls[i];
+            result.totalFloat[v] = ls[i] - es[i];
+            result.freeFloat[v] = freeFloat[i];
+        }
+
+        metrics.incrementCounter("edges_processed", 2L * plan.getEdgeCount());
+        metrics.stopTimer();
+        return result;
+    }
+
+    /**
+     * Gets the metrics collected during the last analysis.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Per-task CPM times, indexed by vertex.
+     */
+    public class Result {
+        private final double[] earliestStart;
+        private final double[] latestStart;
+        private final double[] totalFloat;
+        private final double[] freeFloat;
+        private final double projectDuration;
+
+        Result(int vertices, double projectDuration) {
+            this.earliestStart = new double[vertices];
+            this.latestStart = new double[vertices];
+            this.totalFloat = new double[vertices];
+            this.freeFloat = new double[vertices];
+            this.projectDuration = projectDuration;
+        }
+
+        /**
+         * Gets the earliest start time of every task.
+         * @return array indexed by vertex
+         */
+        public double[] getEarliestStart() {
+            return earliestStart;
+        }
+
+        /**
+         * Gets the latest start time of every task that keeps the project duration.
+         * @return array indexed by vertex
+         */
+        public double[] getLatestStart() {
+            return latestStart;
+        }
+
+        /**
+         * Gets the total float (latest minus earliest start) of every task.
+         * @return array indexed by vertex
+         */
+        public double[] getTotalFloat() {
+            return totalFloat;
+        }
+
+        /**
+         * Gets the free float of every task: how long it can slip without
+         * delaying the earliest start of any successor.
+         * @return array indexed by vertex
+         */
+        public double[] getFreeFloat() {
+            return freeFloat;
+        }
+
+        /**
+         * Gets the project duration (largest earliest start).
+         * @return project duration
+         */
+        public double getProjectDuration() {
+            return projectDuration;
+        }
+
+        /**
+         * Checks if a task has zero total float.
+         * @param vertex the task
+         * @return true if the task is critical
+         */
+        public boolean isCritical(int vertex) {
+            return Math.abs(totalFloat[vertex]) <= EPSILON;
+        }
+
+        /**
+         * Prints the CPM table to console.
+         */
+        public void print() {
+            System.out.println("=== Critical Path Analysis ===");
+            System.out.printf("Project duration: %.2f%n", projectDuration);
+            for (int v = 0; v < earliestStart.length; v++) {
+                System.out.printf("%d (%s): ES = %.2f, LS = %.2f, TF = %.2f, FF = %.2f%s%n",
+                                  v, graph.getNodeLabel(v), earliestStart[v], latestStart[v],
+                                  totalFloat[v], freeFloat[v], isCritical(v) ? " [critical]" : "");
+            }
+        }
+    }
+}
@@ -1,27 +1,89 @@
 package graph.dagsp;
 
 import graph.common.Graph;
+import graph.common.MemoryFootprint;
 import graph.common.Metrics;
 import graph.common.MetricsImpl;
-import graph.topo.KahnTopologicalSort;
+import graph.common.NoOpMetrics;
+import graph.jfr.PathComputationEvent;
 
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * Shortest and longest path algorithms for DAGs using dynamic programming.
+ * The topological plan is built on the first query and reused until the
+ * graph changes; {@link #prepare()} builds it ahead of time.
  * Complexity: O(V + E)
  */
 public class DAGShortestPath {
+    /** Number of sources relaxed together in one shared sweep. */
+    private static final int BATCH_BLOCK_SIZE = 32;
+    /** Levels with fewer vertices than this are swept on the calling thread. */
+    private static final int PARALLEL_LEVEL_MIN = 2048;
+    /** Vertices per parallel task within one level. */
+    private static final int PARALLEL_CHUNK = 512;
+
     private final Graph graph;
     private final Metrics metrics;
+    private final boolean ownsMetrics;
+    private TopologicalPlan plan;
+    
+    // Scratch arrays in topological-position space, reused across queries
+    private double[] distByPosition;
+    private int[] predByPosition;
+    
+    // Point-to-point scratch: region marks are valid when equal to markStamp
+    private int[] regionMark;
+    private int[] regionPositions;
+    private int markStamp;
 
     /**
      * Creates a DAG shortest path solver.
      * @param graph the input DAG
      */
     public DAGShortestPath(Graph graph) {
+        this(graph, new MetricsImpl(), true);
+    }
+
+    /**
+     * Creates a DAG shortest path solver reporting to a shared collector.
+     * The collector is never reset by this class; pass
+     * {@link NoOpMetrics#INSTANCE} to disable instrumentation.
+     * @param graph the input DAG
+     * @param metrics the metrics collector
+     */
+    public DAGShortestPath(Graph graph, Metrics metrics) {
+        this(graph, metrics, false);
+    }
+
+    private DAGShortestPath(Graph graph, Metrics metrics, boolean ownsMetrics) {
         this.graph = graph;
-        this.metrics = new MetricsImpl();
+        this.metrics = metrics;
+        this.ownsMetrics = ownsMetrics;
+    }
+
+    /**
+     * Computes and stores the topological plan of the graph, unless one for
+     * the current graph version is already stored. Later queries reuse it and
+     * only run the relaxation sweep; the plan is rebuilt when the graph changes.
+     * @return the stored plan
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public TopologicalPlan prepare() {
+        if (!isPrepared()) {
+            plan = new TopologicalPlan(graph);
+        }
+        return plan;
+    }
+
+    /**
+     * Checks if a topological plan of the current graph version is stored.
+     * @return true if the next query reuses a stored plan
+     */
+    public boolean isPrepared() {
+        return plan != null && plan.getGraphVersion() == graph.getVersion();
     }
 
     /**
@@ -30,119 +92,539 @@ public class DAGShortestPath {
      * @return PathResult containing distances and predecessors
      */
     public PathResult shortestPath(int source) {
-        metrics.reset();
+        return inPhase("shortest", source, 1, () -> computePaths(source, false));
+    }
+
+    /**
+     * Computes longest paths from a source vertex to all other vertices.
+     * This finds the critical path in the DAG.
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     */
+    public PathResult longestPath(int source) {
+        return inPhase("longest", source, 1, () -> computePaths(source, true));
+    }
+
+    /**
+     * Runs a single-source relaxation sweep over the topological order,
+     * starting at the source's position (earlier vertices are unreachable).
+     * @param source the source vertex
+     * @param longest true for longest paths, false for shortest
+     * @return PathResult containing distances and predecessors
+     */
+    private PathResult computePaths(int source, boolean longest) {
+        if (ownsMetrics) {
+            metrics.reset();
+        }
         metrics.startTimer();
         
-        int n = graph.getVertexCount();
-        double[] dist = new double[n];
-        int[] pred = new int[n];
+        TopologicalPlan p = currentPlan();
+        int n = p.getVertexCount();
+        int[] order = p.getOrder();
+        int[] offsets = p.getOffsets();
+        int[] targets = p.getTargets();
+        double[] weights = p.getWeights();
         
-        // Initialize distances
-        Arrays.fill(dist, Double.POSITIVE_INFINITY);
-        Arrays.fill(pred, -1);
-        dist[source] = 0;
+        if (distByPosition == null || distByPosition.length < n) {
+            distByPosition = new double[n];
+            predByPosition = new int[n];
+        }
+        double[] d = distByPosition;
+        int[] pr = predByPosition;
         
-        // Get topological order
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
-        List<Integer> topoOrder = topoSort.sort();
+        // Initialize distances from the source's position onwards
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int start = p.getPosition(source);
+        Arrays.fill(d, start, n, unreached);
+        Arrays.fill(pr, start, n, -1);
+        d[start] = 0;
         
-        if (topoOrder.isEmpty()) {
-            metrics.stopTimer();
-            throw new IllegalStateException("Graph contains a cycle");
-        }
+        long relaxations = 0;
+        long updates = 0;
         
         // Process vertices in topological order
-        for (int u : topoOrder) {
-            if (dist[u] != Double.POSITIVE_INFINITY) {
-                for (Graph.Edge edge : graph.getEdges(u)) {
-                    int v = edge.to;
-                    double newDist = dist[u] + edge.weight;
-                    metrics.incrementCounter("relaxations");
-                    
-                    if (newDist < dist[v]) {
-                        dist[v] = newDist;
-                        pred[v] = u;
-                        metrics.incrementCounter("updates");
+        if (longest) {
+            for (int i = start; i < n; i++) {
+                double du = d[i];
+                if (du != Double.NEGATIVE_INFINITY) {
+                    for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                        int j = targets[e];
+                        double newDist = du + weights[e];
+                        relaxations++;
+                        
+                        if (newDist > d[j]) {
+                            d[j] = newDist;
+                            pr[j] = i;
+                            updates++;
+                        }
+                    }
+                }
+            }
+        } else {
+            for (int i = start; i < n; i++) {
+                double du = d[i];
+                if (du != Double.POSITIVE_INFINITY) {
+                    for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                        int j = targets[e];
+                        double newDist = du + weights[e];
+                        relaxations++;
+                        
+                        if (newDist < d[j]) {
+                            d[j] = newDist;
+                            pr[j] = i;
+                            updates++;
+                        }
                     }
                 }
             }
         }
         
+        // Map results back from positions to vertices
+        double[] dist = new double[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, unreached);
+        Arrays.fill(pred, -1);
+        for (int i = start; i < n; i++) {
+            int v = order[i];
+            dist[v] = d[i];
+            pred[v] = pr[i] < 0 ? -1 : order[pr[i]];
+        }
+        
+        metrics.incrementCounter("relaxations", relaxations);
+        metrics.incrementCounter("updates", updates);
         metrics.stopTimer();
-        return new PathResult(dist, pred, source, false);
+        return new PathResult(graph, dist, pred, source, longest);
     }
 
     /**
-     * Computes longest paths from a source vertex to all other vertices.
-     * This finds the critical path in the DAG.
+     * Computes shortest paths from a source vertex, processing each level of
+     * the DAG in parallel.
+     * The result is identical to {@link #shortestPath(int)}.
      * @param source the source vertex
      * @return PathResult containing distances and predecessors
+     * @see #longestPathParallel(int)
      */
-    public PathResult longestPath(int source) {
-        metrics.reset();
+    public PathResult shortestPathParallel(int source) {
+        return inPhase("shortest", source, 1, () -> computePathsParallel(source, false));
+    }
+
+    /**
+     * Computes longest paths from a source vertex, processing each level of
+     * the DAG in parallel. Vertices of one level only have in-edges from
+     * earlier levels, so each one pulls its distance from its in-edges
+     * without synchronization. Pays off on wide DAGs; narrow levels run on
+     * the calling thread.
+     * The result is identical to {@link #longestPath(int)}.
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     */
+    public PathResult longestPathParallel(int source) {
+        return inPhase("longest", source, 1, () -> computePathsParallel(source, true));
+    }
+
+    private PathResult computePathsParallel(int source, boolean longest) {
+        if (ownsMetrics) {
+            metrics.reset();
+        }
         metrics.startTimer();
         
-        int n = graph.getVertexCount();
+        TopologicalPlan p = currentPlan();
+        int n = p.getVertexCount();
+        if (source < 0 || source >= n) {
+            metrics.stopTimer();
+            throw new IllegalArgumentException("Invalid vertex: " + source);
+        }
+        int[] order = p.getOrder();
+        int[] levelOffsets = p.getLevelOffsets();
+        int[] levelPositions = p.getLevelPositions();
+        int levels = levelOffsets.length - 1;
+        
+        if (distByPosition == null || distByPosition.length < n) {
+            distByPosition = new double[n];
+            predByPosition = new int[n];
+        }
+        double[] d = distByPosition;
+        int[] pr = predByPosition;
+        int start = p.getPosition(source);
+        
+        long relaxations = 0;
+        long parallelLevels = 0;
+        for (int l = 0; l < levels; l++) {
+            int from = levelOffsets[l];
+            int to = levelOffsets[l + 1];
+            if (to - from < PARALLEL_LEVEL_MIN) {
+                relaxations += pullRange(p, levelPositions, from, to, start, longest, d, pr);
+            } else {
+                int chunks = (to - from + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+                relaxations += IntStream.range(0, chunks).parallel()
+                    .mapToLong(c -> pullRange(p, levelPositions, from + c * PARALLEL_CHUNK,
+                                              Math.min(to, from + (c + 1) * PARALLEL_CHUNK),
+                                              start, longest, d, pr))
+                    .sum();
+                parallelLevels++;
+            }
+        }
+        
+        // Map results back from positions to vertices
         double[] dist = new double[n];
         int[] pred = new int[n];
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            dist[v] = d[i];
+            pred[v] = pr[i] < 0 ? -1 : order[pr[i]];
+        }
         
-        // Initialize distances
-        Arrays.fill(dist, Double.NEGATIVE_INFINITY);
-        Arrays.fill(pred, -1);
-        dist[source] = 0;
+        metrics.incrementCounter("relaxations", relaxations);
+        metrics.incrementCounter("levels", levels);
+        metrics.incrementCounter("parallel_levels", parallelLevels);
+        metrics.stopTimer();
+        return new PathResult(graph, dist, pred, source, longest);
+    }
+
+    /**
+     * Pulls the distances of a range of level positions from their in-edges.
+     * In-edges are listed in the order the sequential sweep relaxes them and
+     * only strict improvements are taken, so ties resolve to the same
+     * predecessor as in {@link #computePaths(int, boolean)}.
+     * @return number of relaxations performed
+     */
+    private static long pullRange(TopologicalPlan p, int[] levelPositions, int from, int to,
+                                  int start, boolean longest, double[] d, int[] pr) {
+        int[] inOffsets = p.getInOffsets();
+        int[] inSources = p.getInSources();
+        double[] inWeights = p.getInWeights();
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        long relaxations = 0;
+        for (int k = from; k < to; k++) {
+            int i = levelPositions[k];
+            double best = unreached;
+            int bestPred = -1;
+            if (i == start) {
+                best = 0;
+            } else if (i > start) {
+                for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+                    double du = d[inSources[e]];
+                    if (du == unreached) {
+                        continue;
+                    }
+                    double newDist = du + inWeights[e];
+                    relaxations++;
+                    if (longest ? newDist > best : newDist < best) {
+                        best = newDist;
+                        bestPred = inSources[e];
+                    }
+                }
+            }
+            d[i] = best;
+            pr[i] = bestPred;
+        }
+        return relaxations;
+    }
+
+    /**
+     * Computes shortest paths from many sources at once.
+     * Sources are grouped into blocks that share a single topological sweep,
+     * and blocks are processed in parallel. Each result is identical to the
+     * one {@link #shortestPath(int)} returns for the same source.
+     * @param sources the source vertices
+     * @return one PathResult per source, in the same order
+     */
+    public List<PathResult> shortestPaths(int... sources) {
+        return inPhase("shortest", -1, sources.length, () -> computeBatch(sources, false));
+    }
+
+    /**
+     * Computes longest paths from many sources at once.
+     * @param sources the source vertices
+     * @return one PathResult per source, in the same order
+     * @see #shortestPaths(int...)
+     */
+    public List<PathResult> longestPaths(int... sources) {
+        return inPhase("longest", -1, sources.length, () -> computeBatch(sources, true));
+    }
+
+    private List<PathResult> computeBatch(int[] sources, boolean longest) {
+        if (ownsMetrics) {
+            metrics.reset();
+        }
+        metrics.startTimer();
+        
+        TopologicalPlan p = currentPlan();
+        int n = p.getVertexCount();
+        int[] order = p.getOrder();
+        for (int source : sources) {
+            if (source < 0 || source >= n) {
+                metrics.stopTimer();
+                throw new IllegalArgumentException("Invalid vertex: " + source);
+            }
+        }
+        
+        PathResult[] results = new PathResult[sources.length];
+        int blocks = (sources.length + BATCH_BLOCK_SIZE - 1) / BATCH_BLOCK_SIZE;
+        long[] edgeScans = new long[blocks];
+        long[] relaxations = new long[blocks];
+        int[] offsets = p.getOffsets();
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
         
-        // Get topological order
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
-        List<Integer> topoOrder = topoSort.sort();
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int first = b * BATCH_BLOCK_SIZE;
+            int lanes = Math.min(BATCH_BLOCK_SIZE, sources.length - first);
+            double[] blockDist = new double[n * lanes];
+            int[] blockPred = new int[n * lanes];
+            edgeScans[b] = BlockSweep.sweep(p, sources, first, lanes, longest, blockDist, blockPred);
+            
+            // Split the vertex-major block into per-source results; like the
+            // single-source sweep, count relaxations only from reached vertices
+            long relaxed = 0;
+            for (int j = 0; j < lanes; j++) {
+                double[] dist = new double[n];
+                int[] pred = new int[n];
+                for (int i = 0; i < n; i++) {
+                    int v = order[i];
+                    dist[v] = blockDist[i * lanes + j];
+                    if (dist[v] != unreached) {
+                        relaxed += offsets[i + 1] - offsets[i];
+                    }
+                    int pi = blockPred[i * lanes + j];
+                    pred[v] = pi < 0 ? -1 : order[pi];
+                }
+                results[first + j] = new PathResult(graph, dist, pred, sources[first + j], longest);
+            }
+            relaxations[b] = relaxed;
+        });
         
-        if (topoOrder.isEmpty()) {
+        metrics.incrementCounter("edge_scans", Arrays.stream(edgeScans).sum());
+        metrics.incrementCounter("relaxations", Arrays.stream(relaxations).sum());
+        metrics.stopTimer();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Computes a shortest path between two vertices.
+     * Only vertices that are both reachable from the source and able to reach
+     * the target are relaxed, so the work is bounded by that region rather
+     * than by everything downstream of the source.
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return vertices of the path from source to target, or an empty array if none exists
+     */
+    public int[] shortestPath(int source, int target) {
+        return inPhase("shortest", source, 1, () -> computePointToPoint(source, target, false));
+    }
+
+    /**
+     * Computes a longest path between two vertices.
+     * @param source the source vertex
+     * @param target the target vertex
+     * @return vertices of the path from source to target, or an empty array if none exists
+     * @see #shortestPath(int, int)
+     */
+    public int[] longestPath(int source, int target) {
+        return inPhase("longest", source, 1, () -> computePointToPoint(source, target, true));
+    }
+
+    private int[] computePointToPoint(int source, int target, boolean longest) {
+        if (ownsMetrics) {
+            metrics.reset();
+        }
+        metrics.startTimer();
+        
+        TopologicalPlan p = currentPlan();
+        int n = p.getVertexCount();
+        int[] order = p.getOrder();
+        int s = p.getPosition(source);
+        int t = p.getPosition(target);
+        if (s > t) {
             metrics.stopTimer();
-            throw new IllegalStateException("Graph contains a cycle");
+            return new int[0];
         }
         
-        // Process vertices in topological order
-        for (int u : topoOrder) {
-            if (dist[u] != Double.NEGATIVE_INFINITY) {
-                for (Graph.Edge edge : graph.getEdges(u)) {
-                    int v = edge.to;
-                    double newDist = dist[u] + edge.weight;
-                    metrics.incrementCounter("relaxations");
-                    
-                    if (newDist > dist[v]) {
-                        dist[v] = newDist;
-                        pred[v] = u;
-                        metrics.incrementCounter("updates");
-                    }
+        if (regionMark == null || regionMark.length < n) {
+            regionMark = new int[n];
+            regionPositions = new int[n];
+            markStamp = 0;
+        }
+        if (distByPosition == null || distByPosition.length < n) {
+            distByPosition = new double[n];
+            predByPosition = new int[n];
+        }
+        if (++markStamp == 0) {
+            Arrays.fill(regionMark, 0);
+            markStamp = 1;
+        }
+        int stamp = markStamp;
+        int[] mark = regionMark;
+        int[] region = regionPositions;
+        
+        // Backward search from the target, never going above the source in the order;
+        // the region list doubles as the search queue
+        int[] inOffsets = p.getInOffsets();
+        int[] inSources = p.getInSources();
+        int size = 0;
+        mark[t] = stamp;
+        region[size++] = t;
+        long inEdgeScans = 0;
+        for (int head = 0; head < size; head++) {
+            int x = region[head];
+            for (int e = inOffsets[x]; e < inOffsets[x + 1]; e++) {
+                int y = inSources[e];
+                inEdgeScans++;
+                if (y >= s && mark[y] != stamp) {
+                    mark[y] = stamp;
+                    region[size++] = y;
                 }
             }
         }
         
+        if (mark[s] != stamp) {
+            metrics.incrementCounter("in_edge_scans", inEdgeScans);
+            metrics.stopTimer();
+            return new int[0];
+        }
+        
+        // Forward sweep over the region in topological order
+        Arrays.sort(region, 0, size);
+        int[] offsets = p.getOffsets();
+        int[] targets = p.getTargets();
+        double[] weights = p.getWeights();
+        double[] d = distByPosition;
+        int[] pr = predByPosition;
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (int k = 0; k < size; k++) {
+            d[region[k]] = unreached;
+            pr[region[k]] = -1;
+        }
+        d[s] = 0;
+        
+        long relaxations = 0;
+        for (int k = 0; k < size; k++) {
+            int i = region[k];
+            double du = d[i];
+            if (du == unreached) {
+                continue;
+            }
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int j = targets[e];
+                if (j > t || mark[j] != stamp) {
+                    continue;
+                }
+                double newDist = du + weights[e];
+                relaxations++;
+                if (longest ? newDist > d[j] : newDist < d[j]) {
+                    d[j] = newDist;
+                    pr[j] = i;
+                }
+            }
+        }
+        
+        // Walk predecessors back from the target
+        int length = 1;
+        for (int i = t; i != s; i = pr[i]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int k = length - 1, i = t; k >= 0; k--) {
+            path[k] = order[i];
+            if (k > 0) {
+                i = pr[i];
+            }
+        }
+        
+        metrics.incrementCounter("in_edge_scans", inEdgeScans);
+        metrics.incrementCounter("region_size", size);
+        metrics.incrementCounter("relaxations", relaxations);
         metrics.stopTimer();
-        return new PathResult(dist, pred, source, true);
+        return path;
+    }
+
+    /**
+     * Runs a computation as a named metrics phase and JFR event.
+     * @param phase the phase name, "shortest" or "longest"
+     * @param source the source vertex, or -1 for batches
+     * @param sourceCount number of sources
+     * @param computation the computation
+     * @return its result
+     */
+    private <T> T inPhase(String phase, int source, int sourceCount, Supplier<T> computation) {
+        metrics.startPhase(phase);
+        PathComputationEvent event = new PathComputationEvent();
+        event.begin();
+        try {
+            T result = computation.get();
+            event.finish(graph, phase, source, sourceCount);
+            return result;
+        } finally {
+            metrics.stopPhase(phase);
+        }
+    }
+
+    /**
+     * Gets the stored plan, building it if the graph changed since.
+     * @return topological plan of the current graph
+     */
+    private TopologicalPlan currentPlan() {
+        try {
+            return prepare();
+        } catch (IllegalStateException e) {
+            metrics.stopTimer();
+            throw e;
+        }
     }
 
     /**
      * Finds the critical path (longest path) in the entire DAG.
-     * @return PathResult with the longest path information
+     * Runs a single longest-path DP over one topological order, as if a virtual
+     * super-source were connected to every vertex, and tracks for each vertex the
+     * smallest source index that reaches it with maximal length. The result is the
+     * longest-path tree of the smallest source that attains the global maximum,
+     * the same one an exhaustive search over all sources would return.
+     * Complexity: O(V + E)
+     * @return PathResult with the longest path information, or null for an empty graph
      */
     public PathResult findCriticalPath() {
         int n = graph.getVertexCount();
-        PathResult bestResult = null;
-        double maxLength = Double.NEGATIVE_INFINITY;
+        if (n == 0) {
+            return null;
+        }
+        
+        TopologicalPlan p = currentPlan();
+        int[] order = p.getOrder();
+        int[] offsets = p.getOffsets();
+        int[] targets = p.getTargets();
+        double[] weights = p.getWeights();
         
-        // Try all possible source vertices
-        for (int source = 0; source < n; source++) {
-            PathResult result = longestPath(source);
-            for (int dest = 0; dest < n; dest++) {
-                if (result.getDistance(dest) > maxLength && 
-                    result.getDistance(dest) != Double.NEGATIVE_INFINITY) {
-                    maxLength = result.getDistance(dest);
-                    bestResult = result;
+        // Every vertex starts a path of length 0 at itself
+        double[] best = new double[n];
+        int[] origin = new int[n];
+        for (int i = 0; i < n; i++) {
+            origin[i] = order[i];
+        }
+        
+        for (int i = 0; i < n; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int j = targets[e];
+                double newDist = best[i] + weights[e];
+                
+                if (newDist > best[j]) {
+                    best[j] = newDist;
+                    origin[j] = origin[i];
+                } else if (newDist == best[j] && origin[i] < origin[j]) {
+                    origin[j] = origin[i];
                 }
             }
         }
         
-        return bestResult;
+        // Smallest source attaining the global maximum
+        double maxLength = Double.NEGATIVE_INFINITY;
+        int bestSource = -1;
+        for (int i = 0; i < n; i++) {
+            if (best[i] > maxLength || (best[i] == maxLength && origin[i] < bestSource)) {
+                maxLength = best[i];
+                bestSource = origin[i];
+            }
+        }
+        
+        return longestPath(bestSource);
     }
 
     /**
@@ -155,14 +637,17 @@ public class DAGShortestPath {
 
     /**
      * Result of a path computation containing distances and predecessors.
+     * Also used by the general shortest path engines in {@code graph.sp}.
      */
-    public class PathResult {
+    public static class PathResult {
+        private final Graph graph;
         private final double[] distances;
         private final int[] predecessors;
         private final int source;
         private final boolean isLongest;
 
-        public PathResult(double[] distances, int[] predecessors, int source, boolean isLongest) {
+        public PathResult(Graph graph, double[] distances, int[] predecessors, int source, boolean isLongest) {
+            this.graph = graph;
             this.distances = distances;
             this.predecessors = predecessors;
             this.source = source;
@@ -227,6 +712,18 @@ public class DAGShortestPath {
             return source;
         }
 
+        /**
+         * Estimates the heap footprint of this result: the object plus one
+         * distance and one predecessor per vertex.
+         * @return estimated bytes
+         */
+        public long estimateBytes() {
+            int n = distances.length;
+            return MemoryFootprint.objectBytes(3, 4 + 1)
+                + MemoryFootprint.arrayBytes(n, 8)
+                + MemoryFootprint.arrayBytes(n, 4);
+        }
+
         /**
          * Prints the path result to console.
          */
@@ -0,0 +1,305 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.IntDoubleHeap;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+
+import java.util.Arrays;
+
+/**
+ * Shortest or longest path distances on a DAG that stay up to date while
+ * edge weights change.
+ *
+ * Distances are kept in pull form: each vertex's distance is the best over
+ * its in-edges. After a weight change only the edge's target is recomputed;
+ * when its distance changes, its successors are queued, and the queue is
+ * drained in topological order so every vertex is recomputed at most once
+ * per update. Propagation stops wherever a distance does not change, so the
+ * cost of an update is proportional to the affected downstream region.
+ *
+ * The structure keeps its own copy of the weights; the Graph is not modified.
+ * With {@link #ALL_SOURCES} every vertex is a possible start, which for
+ * longest paths makes the largest distance the project's critical path.
+ */
+public class DynamicDAGPaths {
+    /** Source value meaning "paths may start at any vertex". */
+    public static final int ALL_SOURCES = -1;
+
+    private final TopologicalPlan plan;
+    private final int sourcePosition;
+    private final boolean longest;
+    private final double unreached;
+    private final Metrics metrics;
+
+    private final double[] outWeights;
+    private final double[] inWeights;
+    private final int[] inSlotOf;
+
+    private final double[] dist;
+    private final int[] pred;
+    private final boolean[] queued;
+    private final IntDoubleHeap worklist;
+
+    // Position of the vertex with the best distance; rescanned lazily when stale
+    private int bestPosition;
+    private boolean bestStale;
+
+    /**
+     * Creates the structure and computes the initial distances.
+     * @param graph the input DAG
+     * @param source the source vertex, or {@link #ALL_SOURCES}
+     * @param longest true for longest paths, false for shortest
+     */
+    public DynamicDAGPaths(Graph graph, int source, boolean longest) {
+        this(new TopologicalPlan(graph), source, longest);
+    }
+
+    /**
+     * Creates the structure on a prepared plan and computes the initial distances.
+     * @param plan topological plan of the DAG
+     * @param source the source vertex, or {@link #ALL_SOURCES}
+     * @param longest true for longest paths, false for shortest
+     */
+    public DynamicDAGPaths(TopologicalPlan plan, int source, boolean longest) {
+        int n = plan.getVertexCount();
+        if (source != ALL_SOURCES && (source < 0 || source >= n)) {
+            throw new IllegalArgumentException("Invalid vertex: " + source);
+        }
+        this.plan = plan;
+        this.sourcePosition = source == ALL_SOURCES ? ALL_SOURCES : plan.getPosition(source);
+        this.longest = longest;
+        this.unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        this.metrics = new MetricsImpl();
+
+        this.outWeights = plan.getWeights().clone();
+        this.inWeights = plan.getInWeights().clone();
+        // Same counting order the plan used to lay out its in-edges
+        int[] targets = plan.getTargets();
+        this.inSlotOf = new int[targets.length];
+        int[] fill = Arrays.copyOf(plan.getInOffsets(), n);
+        for (int e = 0; e < targets.length; e++) {
+            inSlotOf[e] = fill[targets[e]]++;
+        }
+
+        this.dist = new double[n];
+        this.pred = new int[n];
+        this.queued = new boolean[n];
+        this.worklist = new IntDoubleHeap(16);
+
+        for (int i = 0; i < n; i++) {
+            recompute(i);
+        }
+        bestStale = true;
+    }
+
+    /**
+     * Recomputes one vertex from its in-edges.
+     * @param i the vertex position
+     * @return true if its distance changed
+     */
+    private boolean recompute(int i) {
+        int[] inOffsets = plan.getInOffsets();
+        int[] inSources = plan.getInSources();
+        boolean isStart = sourcePosition == ALL_SOURCES || sourcePosition == i;
+        double best = isStart ? 0 : unreached;
+        int bestPred = -1;
+        for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+            int u = inSources[e];
+            if (dist[u] == unreached) {
+                continue;
+            }
+            double candidate = dist[u] + inWeights[e];
+            if (longest ? candidate > best : candidate < best) {
+                best = candidate;
+                bestPred = u;
+            }
+        }
+        pred[i] = bestPred;
+        if (Double.compare(best, dist[i]) == 0) {
+            return false;
+        }
+        dist[i] = best;
+        return true;
+    }
+
+    /**
+     * Changes the weight of the first edge from one vertex to another and
+     * repairs all affected distances.
+     * @param from source vertex of the edge
+     * @param to target vertex of the edge
+     * @param weight the new weight
+     * @throws IllegalArgumentException if no such edge exists
+     */
+    public void setEdgeWeight(int from, int to, double weight) {
+        int slot = findSlot(from, to);
+        metrics.startTimer();
+        outWeights[slot] = weight;
+        inWeights[inSlotOf[slot]] = weight;
+
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        int start = targets[slot];
+        queued[start] = true;
+        worklist.push(start, start);
+
+        long recomputed = 0;
+        while (!worklist.isEmpty()) {
+            int i = worklist.poll();
+            queued[i] = false;
+            recomputed++;
+            if (recompute(i)) {
+                trackBest(i);
+                for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                    int j = targets[e];
+                    if (!queued[j]) {
+                        queued[j] = true;
+                        worklist.push(j, j);
+                    }
+                }
+            }
+        }
+
+        metrics.incrementCounter("weight_updates");
+        metrics.incrementCounter("vertices_recomputed", recomputed);
+        metrics.stopTimer();
+    }
+
+    /**
+     * Gets the current weight of the first edge from one vertex to another.
+     * @param from source vertex of the edge
+     * @param to target vertex of the edge
+     * @return the edge weight
+     */
+    public double getEdgeWeight(int from, int to) {
+        return outWeights[findSlot(from, to)];
+    }
+
+    private int findSlot(int from, int to) {
+        int n = plan.getVertexCount();
+        if (from < 0 || from >= n || to < 0 || to >= n) {
+            throw new IllegalArgumentException("Invalid vertex: " + from + " or " + to);
+        }
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        int i = plan.getPosition(from);
+        int j = plan.getPosition(to);
+        for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+            if (targets[e] == j) {
+                return e;
+            }
+        }
+        throw new IllegalArgumentException("No edge from " + from + " to " + to);
+    }
+
+    private void trackBest(int i) {
+        if (bestStale) {
+            return;
+        }
+        if (i == bestPosition) {
+            // The best may have moved elsewhere; find it again on demand
+            bestStale = true;
+        } else if (longest ? dist[i] > dist[bestPosition] : dist[i] < dist[bestPosition]) {
+            bestPosition = i;
+        }
+    }
+
+    /**
+     * Gets the current distance to a vertex.
+     * @param vertex the vertex
+     * @return distance, or an infinity if unreachable
+     */
+    public double getDistance(int vertex) {
+        return dist[plan.getPosition(vertex)];
+    }
+
+    /**
+     * Checks if a vertex is unreachable.
+     * @param vertex the vertex
+     * @return true if unreachable
+     */
+    public boolean isUnreachable(int vertex) {
+        return getDistance(vertex) == unreached;
+    }
+
+    /**
+     * Gets the current best path to a vertex.
+     * @param vertex the destination vertex
+     * @return vertices of the path, or an empty array if unreachable
+     */
+    public int[] getPath(int vertex) {
+        int i = plan.getPosition(vertex);
+        if (dist[i] == unreached) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int p = pred[i]; p != -1; p = pred[p]) {
+            length++;
+        }
+        int[] order = plan.getOrder();
+        int[] path = new int[length];
+        for (int k = length - 1, p = i; k >= 0; k--, p = pred[p]) {
+            path[k] = order[p];
+        }
+        return path;
+    }
+
+    /**
+     * Gets the vertex with the largest (longest mode) or smallest
+     * (shortest mode) reachable distance.
+     * @return the vertex, or -1 for an empty graph
+     */
+    public int getBestVertex() {
+        int n = plan.getVertexCount();
+        if (n == 0) {
+            return -1;
+        }
+        if (bestStale) {
+            bestPosition = 0;
+            for (int i = 1; i < n; i++) {
+                if (dist[bestPosition] == unreached ||
+                    (dist[i] != unreached && (longest ? dist[i] > dist[bestPosition] : dist[i] < dist[bestPosition]))) {
+                    bestPosition = i;
+                }
+            }
+            bestStale = false;
+        }
+        return plan.getOrder()[bestPosition];
+    }
+
+    /**
+     * Gets the current critical path length (largest longest-path distance).
+     * @return critical path length
+     * @throws IllegalStateException if tracking shortest paths
+     */
+    public double getCriticalPathLength() {
+        requireLongest();
+        int best = getBestVertex();
+        return best == -1 ? 0 : getDistance(best);
+    }
+
+    /**
+     * Gets the current critical path.
+     * @return vertices of the critical path
+     * @throws IllegalStateException if tracking shortest paths
+     */
+    public int[] getCriticalPath() {
+        requireLongest();
+        int best = getBestVertex();
+        return best == -1 ? new int[0] : getPath(best);
+    }
+
+    private void requireLongest() {
+        if (!longest) {
+            throw new IllegalStateException("Critical path requires longest-path mode");
+        }
+    }
+
+    /**
+     * Gets the metrics collected by weight updates.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,360 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+
+import java.util.*;
+
+/**
+ * Lazy enumeration of the k shortest or k longest paths between two
+ * vertices of a DAG, in order of length (Eppstein's algorithm).
+ *
+ * A path is described by the "sidetrack" edges where it leaves the tree of
+ * best paths into the target. Every vertex gets a persistent leftist heap of
+ * the sidetracks available on its tree path, sharing structure with its tree
+ * successor, so all heaps together take O(E log V) nodes. Each call to
+ * {@link #next()} pops one candidate and pushes at most three, so memory
+ * grows with the number of paths requested rather than the number of paths
+ * in the graph.
+ * Complexity: O(V + E log V) preparation, O(log k + path length) per path.
+ */
+public class KBestPaths {
+    private static final int NIL = -1;
+
+    private final TopologicalPlan plan;
+    private final int source;
+    private final int target;
+    private final boolean longest;
+    private final Metrics metrics;
+
+    // Best cost from each position to the target and the tree edge achieving it
+    private double[] toTarget;
+    private int[] treeEdge;
+    private int[] edgeTail;
+    private int[] heapRoot;
+
+    // Persistent leftist heap nodes stored in parallel arrays
+    private double[] nodeKey;
+    private int[] nodeEdge;
+    private int[] nodeLeft;
+    private int[] nodeRight;
+    private int[] nodeRank;
+    private int nodeCount;
+
+    private PriorityQueue<Candidate> queue;
+
+    /**
+     * Creates an enumerator of paths between two vertices.
+     * @param graph the input DAG
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param longest true to enumerate longest paths first, false for shortest first
+     */
+    public KBestPaths(Graph graph, int source, int target, boolean longest) {
+        this(new TopologicalPlan(graph), source, target, longest);
+    }
+
+    /**
+     * Creates an enumerator of paths on a prepared plan.
+     * @param plan topological plan of the DAG
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param longest true to enumerate longest paths first, false for shortest first
+     */
+    public KBestPaths(TopologicalPlan plan, int source, int target, boolean longest) {
+        if (source < 0 || source >= plan.getVertexCount() || target < 0 || target >= plan.getVertexCount()) {
+            throw new IllegalArgumentException("Invalid vertex: " + source + " or " + target);
+        }
+        this.plan = plan;
+        this.source = source;
+        this.target = target;
+        this.longest = longest;
+        this.metrics = new MetricsImpl();
+    }
+
+    /**
+     * Builds the best-path tree into the target and the sidetrack heaps.
+     */
+    private void prepare() {
+        metrics.startTimer();
+        int n = plan.getVertexCount();
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        double[] weights = plan.getWeights();
+        int s = plan.getPosition(source);
+        int t = plan.getPosition(target);
+        double sign = longest ? -1.0 : 1.0;
+
+        toTarget = new double[n];
+        treeEdge = new int[n];
+        heapRoot = new int[n];
+        edgeTail = new int[weights.length];
+        Arrays.fill(toTarget, Double.POSITIVE_INFINITY);
+        Arrays.fill(treeEdge, NIL);
+        Arrays.fill(heapRoot, NIL);
+        int capacity = 16;
+        nodeKey = new double[capacity];
+        nodeEdge = new int[capacity];
+        nodeLeft = new int[capacity];
+        nodeRight = new int[capacity];
+        nodeRank = new int[capacity];
+        nodeCount = 0;
+        queue = new PriorityQueue<>();
+
+        if (s > t) {
+            metrics.stopTimer();
+            return;
+        }
+
+        // Best costs into the target, in reverse topological order
+        toTarget[t] = 0;
+        for (int i = t - 1; i >= s; i--) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                edgeTail[e] = i;
+                int j = targets[e];
+                if (j <= t && toTarget[j] != Double.POSITIVE_INFINITY) {
+                    double cost = sign * weights[e] + toTarget[j];
+                    if (cost < toTarget[i]) {
+                        toTarget[i] = cost;
+                        treeEdge[i] = e;
+                    }
+                }
+            }
+        }
+
+        // Each heap extends the heap of the tree successor with the local sidetracks
+        for (int i = t - 1; i >= s; i--) {
+            if (treeEdge[i] == NIL) {
+                continue;
+            }
+            int heap = heapRoot[targets[treeEdge[i]]];
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int j = targets[e];
+                if (e != treeEdge[i] && j <= t && toTarget[j] != Double.POSITIVE_INFINITY) {
+                    double delta = Math.max(0, sign * weights[e] + toTarget[j] - toTarget[i]);
+                    heap = merge(heap, newNode(delta, e));
+                }
+            }
+            heapRoot[i] = heap;
+        }
+
+        if (toTarget[s] != Double.POSITIVE_INFINITY) {
+            queue.add(new Candidate(toTarget[s], NIL, null));
+        }
+        metrics.incrementCounter("heap_nodes", nodeCount);
+        metrics.stopTimer();
+    }
+
+    /**
+     * Checks if another path exists.
+     * @return true if {@link #next()} will return a path
+     */
+    public boolean hasNext() {
+        if (queue == null) {
+            prepare();
+        }
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Returns the next best path.
+     * @return the path, or null when all paths have been enumerated
+     */
+    public WeightedPath next() {
+        if (!hasNext()) {
+            return null;
+        }
+        Candidate current = queue.poll();
+        metrics.incrementCounter("paths_enumerated");
+
+        if (current.node != NIL) {
+            int x = current.node;
+            // Siblings: the next-best alternatives to this sidetrack
+            if (nodeLeft[x] != NIL) {
+                queue.add(new Candidate(current.cost - nodeKey[x] + nodeKey[nodeLeft[x]], nodeLeft[x], current.prefix));
+            }
+            if (nodeRight[x] != NIL) {
+                queue.add(new Candidate(current.cost - nodeKey[x] + nodeKey[nodeRight[x]], nodeRight[x], current.prefix));
+            }
+            // Extension: one more sidetrack after this one
+            int head = heapRoot[plan.getTargets()[nodeEdge[x]]];
+            if (head != NIL) {
+                queue.add(new Candidate(current.cost + nodeKey[head], head, current));
+            }
+        } else {
+            int root = heapRoot[plan.getPosition(source)];
+            if (root != NIL) {
+                queue.add(new Candidate(current.cost + nodeKey[root], root, current));
+            }
+        }
+
+        return buildPath(current);
+    }
+
+    /**
+     * Returns up to k next best paths.
+     * @param k maximum number of paths
+     * @return list of paths in order
+     */
+    public List<WeightedPath> top(int k) {
+        List<WeightedPath> result = new ArrayList<>();
+        while (result.size() < k && hasNext()) {
+            result.add(next());
+        }
+        return result;
+    }
+
+    /**
+     * Expands a candidate's sidetracks into a full vertex sequence.
+     */
+    private WeightedPath buildPath(Candidate candidate) {
+        Deque<Integer> sidetracks = new ArrayDeque<>();
+        for (Candidate c = candidate; c != null; c = c.prefix) {
+            if (c.node != NIL) {
+                sidetracks.addFirst(nodeEdge[c.node]);
+            }
+        }
+
+        int[] order = plan.getOrder();
+        int[] targets = plan.getTargets();
+        double[] weights = plan.getWeights();
+        int t = plan.getPosition(target);
+        List<Integer> positions = new ArrayList<>();
+        double length = 0;
+        int cur = plan.getPosition(source);
+        for (int e : sidetracks) {
+            while (cur != edgeTail[e]) {
+                positions.add(cur);
+                length += weights[treeEdge[cur]];
+                cur = targets[treeEdge[cur]];
+            }
+            positions.add(cur);
+            length += weights[e];
+            cur = targets[e];
+        }
+        while (cur != t) {
+            positions.add(cur);
+            length += weights[treeEdge[cur]];
+            cur = targets[treeEdge[cur]];
+        }
+        positions.add(t);
+
+        int[] vertices = new int[positions.size()];
+        for (int k = 0; k < vertices.length; k++) {
+            vertices[k] = order[positions.get(k)];
+        }
+        return new WeightedPath(vertices, length);
+    }
+
+    private int newNode(double key, int edge) {
+        if (nodeCount == nodeKey.length) {
+            int capacity = nodeCount * 2;
+            nodeKey = Arrays.copyOf(nodeKey, capacity);
+            nodeEdge = Arrays.copyOf(nodeEdge, capacity);
+            nodeLeft = Arrays.copyOf(nodeLeft, capacity);
+            nodeRight = Arrays.copyOf(nodeRight, capacity);
+            nodeRank = Arrays.copyOf(nodeRank, capacity);
+        }
+        int x = nodeCount++;
+        nodeKey[x] = key;
+        nodeEdge[x] = edge;
+        nodeLeft[x] = NIL;
+        nodeRight[x] = NIL;
+        nodeRank[x] = 1;
+        return x;
+    }
+
+    private int rank(int x) {
+        return x == NIL ? 0 : nodeRank[x];
+    }
+
+    /**
+     * Persistent leftist-heap merge: copies the nodes on the right spine
+     * and leaves both inputs unchanged.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (nodeKey[b] < nodeKey[a]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        int left = nodeLeft[a];
+        int right = merge(nodeRight[a], b);
+        int copy = newNode(nodeKey[a], nodeEdge[a]);
+        if (rank(left) < rank(right)) {
+            nodeLeft[copy] = right;
+            nodeRight[copy] = left;
+        } else {
+            nodeLeft[copy] = left;
+            nodeRight[copy] = right;
+        }
+        nodeRank[copy] = rank(nodeRight[copy]) + 1;
+        return copy;
+    }
+
+    /**
+     * Gets the metrics collected during enumeration.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * A candidate path: the sidetrack at a heap node appended to the
+     * sidetracks of its prefix candidate.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final double cost;
+        final int node;
+        final Candidate prefix;
+
+        Candidate(double cost, int node, Candidate prefix) {
+            this.cost = cost;
+            this.node = node;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Double.compare(cost, other.cost);
+        }
+    }
+
+    /**
+     * A path with its total weight.
+     */
+    public static class WeightedPath {
+        private final int[] vertices;
+        private final double length;
+
+        public WeightedPath(int[] vertices, double length) {
+            this.vertices = vertices;
+            this.length = length;
+        }
+
+        /**
+         * Gets the vertices of the path from source to target.
+         * @return vertex sequence
+         */
+        public int[] getVertices() {
+            return vertices;
+        }
+
+        /**
+         * Gets the sum of edge weights along the path.
+         * @return path length
+         */
+        public double getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return "WeightedPath{length=" + length + ", vertices=" + Arrays.toString(vertices) + "}";
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.IntDoubleHeap;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+import graph.common.NoOpMetrics;
+import graph.topo.KahnTopologicalSort;
+
+import java.util.List;
+
+/**
+ * List scheduling of DAG tasks on a bounded number of workers.
+ * Ready tasks are started in order of their critical-path priority
+ * (bottom level: the longest remaining chain of delays starting at the task),
+ * which is the classic HLFET heuristic. The critical path length is a lower
+ * bound for the makespan; with enough workers the schedule reaches it.
+ *
+ * Durations come either from the vertices or from the edges. With vertex
+ * durations, a task can start once all its predecessors have finished. With
+ * edge durations, an edge weight is the minimum time between the start of a
+ * task and the start of its successor, as in {@link CriticalPathAnalysis};
+ * a task occupies its worker for its largest outgoing weight, and the
+ * critical path length equals the longest path of {@link DAGShortestPath}.
+ *
+ * Topological order, successor lists and priorities do not depend on the
+ * worker count, so they are computed once on the first call and reused by
+ * every later {@link #schedule(int)} call.
+ * Complexity: O(V + E) preparation, O((V + E) log V) per schedule.
+ */
+public class ListScheduler {
+    private final Graph graph;
+    private final double[] durations;
+    private final boolean edgeDelays;
+    private final Metrics metrics;
+    private final boolean ownsMetrics;
+
+    private int[] succOffsets;
+    private int[] succTargets;
+    private double[] succDelays;
+    private int[] inDegree;
+    private double[] priority;
+    private double criticalPathLength;
+
+    /**
+     * Creates a scheduler where each vertex has its own duration.
+     * Edges only express precedence; their weights are ignored.
+     * @param graph the input DAG (typically a condensation)
+     * @param durations non-negative duration of each vertex
+     */
+    public ListScheduler(Graph graph, double[] durations) {
+        this(graph, checkDurations(graph, durations), false, new MetricsImpl(), true);
+    }
+
+    /**
+     * Creates a scheduler with vertex durations reporting to a shared collector.
+     * The collector is never reset by this class; pass
+     * {@link NoOpMetrics#INSTANCE} to disable instrumentation.
+     * @param graph the input DAG (typically a condensation)
+     * @param durations non-negative duration of each vertex
+     * @param metrics the metrics collector
+     */
+    public ListScheduler(Graph graph, double[] durations, Metrics metrics) {
+        this(graph, checkDurations(graph, durations), false, metrics, false);
+    }
+
+    /**
+     * Creates a scheduler that takes durations from edge weights: a successor
+     * can start once the edge's weight has passed since the task started.
+     * @param graph the input DAG (typically a condensation)
+     * @throws IllegalArgumentException if an edge weight is negative or NaN
+     */
+    public ListScheduler(Graph graph) {
+        this(graph, edgeDurations(graph), true, new MetricsImpl(), true);
+    }
+
+    /**
+     * Creates a scheduler with edge durations reporting to a shared collector.
+     * The collector is never reset by this class; pass
+     * {@link NoOpMetrics#INSTANCE} to disable instrumentation.
+     * @param graph the input DAG (typically a condensation)
+     * @param metrics the metrics collector
+     * @throws IllegalArgumentException if an edge weight is negative or NaN
+     */
+    public ListScheduler(Graph graph, Metrics metrics) {
+        this(graph, edgeDurations(graph), true, metrics, false);
+    }
+
+    private ListScheduler(Graph graph, double[] durations, boolean edgeDelays,
+                          Metrics metrics, boolean ownsMetrics) {
+        this.graph = graph;
+        this.durations = durations;
+        this.edgeDelays = edgeDelays;
+        this.metrics = metrics;
+        this.ownsMetrics = ownsMetrics;
+    }
+
+    private static double[] checkDurations(Graph graph, double[] durations) {
+        if (durations.length != graph.getVertexCount()) {
+            throw new IllegalArgumentException("Expected " + graph.getVertexCount() +
+                                               " durations but got " + durations.length);
+        }
+        for (double d : durations) {
+            if (d < 0 || Double.isNaN(d)) {
+                throw new IllegalArgumentException("Invalid duration: " + d);
+            }
+        }
+        return durations.clone();
+    }
+
+    /**
+     * Gets the time each vertex occupies a worker with edge durations:
+     * its largest outgoing weight, so sinks take no time.
+     */
+    private static double[] edgeDurations(Graph graph) {
+        int n = graph.getVertexCount();
+        double[] result = new double[n];
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                if (edge.weight < 0 || Double.isNaN(edge.weight)) {
+                    throw new IllegalArgumentException("Invalid edge weight: " + edge.weight);
+                }
+                result[u] = Math.max(result[u], edge.weight);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes topological order, successor arrays and bottom-level priorities.
+     */
+    private void prepare() {
+        int n = graph.getVertexCount();
+        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph, NoOpMetrics.INSTANCE);
+        List<Integer> topoOrder = topoSort.sort();
+        if (topoOrder.size() != n) {
+            throw new IllegalStateException("Graph contains a cycle");
+        }
+
+        // Successors in compressed (CSR) form, with the delay from the start
+        // of a task to the earliest start of the successor
+        succOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            succOffsets[u + 1] = succOffsets[u] + graph.getEdges(u).size();
+        }
+        succTargets = new int[succOffsets[n]];
+        succDelays = new double[succOffsets[n]];
+        inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            int k = succOffsets[u];
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                succTargets[k] = edge.to;
+                succDelays[k++] = edgeDelays ? edge.weight : durations[u];
+                inDegree[edge.to]++;
+            }
+        }
+
+        // Bottom levels in reverse topological order
+        priority = new double[n];
+        criticalPathLength = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            int u = topoOrder.get(i);
+            double best = durations[u];
+            for (int k = succOffsets[u]; k < succOffsets[u + 1]; k++) {
+                best = Math.max(best, succDelays[k] + priority[succTargets[k]]);
+            }
+            priority[u] = best;
+            criticalPathLength = Math.max(criticalPathLength, best);
+        }
+    }
+
+    /**
+     * Schedules all tasks on the given number of workers.
+     * @param workers number of available workers (crews)
+     * @return the resulting schedule
+     */
+    public Schedule schedule(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workers);
+        }
+        if (priority == null) {
+            prepare();
+        }
+        if (ownsMetrics) {
+            metrics.reset();
+        }
+        metrics.startTimer();
+
+        int n = graph.getVertexCount();
+        int k = Math.min(workers, Math.max(n, 1));
+        double[] start = new double[n];
+        double[] finish = new double[n];
+        double[] release = new double[n];
+        int[] assigned = new int[n];
+        int[] remaining = inDegree.clone();
+
+        // Free workers as a stack so that the lowest id is used first
+        int[] freeWorkers = new int[k];
+        int freeCount = k;
+        for (int w = 0; w < k; w++) {
+            freeWorkers[w] = k - 1 - w;
+        }
+
+        // Tasks whose predecessors have all started wait in pending until
+        // their release time, then in ready until a worker is free
+        IntDoubleHeap pending = new IntDoubleHeap(n);
+        IntDoubleHeap ready = new IntDoubleHeap(n);
+        IntDoubleHeap running = new IntDoubleHeap(k);
+        for (int v = 0; v < n; v++) {
+            if (remaining[v] == 0) {
+                ready.push(v, -priority[v]);
+            }
+        }
+
+        long heapOperations = 0;
+        double time = 0;
+        double makespan = 0;
+        int completed = 0;
+
+        while (completed < n) {
+            // Fill idle workers with the highest-priority ready tasks
+            while (freeCount > 0 && !ready.isEmpty()) {
+                int v = ready.poll();
+                int w = freeWorkers[--freeCount];
+                start[v] = time;
+                finish[v] = time + durations[v];
+                assigned[v] = w;
+                running.push(v, finish[v]);
+                heapOperations += 2;
+                for (int e = succOffsets[v]; e < succOffsets[v + 1]; e++) {
+                    int s = succTargets[e];
+                    release[s] = Math.max(release[s], time + succDelays[e]);
+                    if (--remaining[s] == 0) {
+                        pending.push(s, release[s]);
+                        heapOperations++;
+                    }
+                }
+            }
+
+            // Advance to the next completion or release
+            time = running.isEmpty() ? pending.peekKey()
+                 : pending.isEmpty() ? running.peekKey()
+                 : Math.min(running.peekKey(), pending.peekKey());
+            while (!running.isEmpty() && running.peekKey() <= time) {
+                int v = running.poll();
+                heapOperations++;
+                completed++;
+                freeWorkers[freeCount++] = assigned[v];
+                makespan = Math.max(makespan, finish[v]);
+            }
+            while (!pending.isEmpty() && pending.peekKey() <= time) {
+                int v = pending.poll();
+                ready.push(v, -priority[v]);
+                heapOperations += 2;
+            }
+        }
+
+        metrics.incrementCounter("tasks_scheduled", n);
+        metrics.incrementCounter("heap_operations", heapOperations);
+        metrics.stopTimer();
+        return new Schedule(start, finish, assigned, makespan, k);
+    }
+
+    /**
+     * Gets the critical-path priority (bottom level) of every vertex.
+     * @return array of priorities indexed by vertex
+     */
+    public double[] getPriorities() {
+        if (priority == null) {
+            prepare();
+        }
+        return priority.clone();
+    }
+
+    /**
+     * Gets the critical path length, a lower bound on any makespan.
+     * @return critical path length
+     */
+    public double getCriticalPathLength() {
+        if (priority == null) {
+            prepare();
+        }
+        return criticalPathLength;
+    }
+
+    /**
+     * Gets the metrics collected during the last scheduling run.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Result of a scheduling run: start/finish times and worker per task.
+     */
+    public class Schedule {
+        private final double[] start;
+        private final double[] finish;
+        private final int[] worker;
+        private final double makespan;
+        private final int workers;
+
+        Schedule(double[] start, double[] finish, int[] worker, double makespan, int workers) {
+            this.start = start;
+            this.finish = finish;
+            this.worker = worker;
+            this.makespan = makespan;
+            this.workers = workers;
+        }
+
+        /**
+         * Gets the start time of a task.
+         * @param vertex the task
+         * @return start time
+         */
+        public double getStart(int vertex) {
+            return start[vertex];
+        }
+
+        /**
+         * Gets the finish time of a task.
+         * @param vertex the task
+         * @return finish time
+         */
+        public double getFinish(int vertex) {
+            return finish[vertex];
+        }
+
+        /**
+         * Gets the worker a task was assigned to.
+         * @param vertex the task
+         * @return worker index in [0, workers)
+         */
+        public int getWorker(int vertex) {
+            return worker[vertex];
+        }
+
+        /**
+         * Gets all start times.
+         * @return array of start times
+         */
+        public double[] getStartTimes() {
+            return start;
+        }
+
+        /**
+         * Gets all finish times.
+         * @return array of finish times
+         */
+        public double[] getFinishTimes() {
+            return finish;
+        }
+
+        /**
+         * Gets the completion time of the last task.
+         * @return makespan
+         */
+        public double getMakespan() {
+            return makespan;
+        }
+
+        /**
+         * Gets the number of workers actually used by the schedule.
+         * @return worker count
+         */
+        public int getWorkerCount() {
+            return workers;
+        }
+
+        /**
+         * Prints the schedule to console.
+         */
+        public void print() {
+            System.out.println("=== Schedule on " + workers + " worker(s) ===");
+            for (int v = 0; v < start.length; v++) {
+                System.out.printf("Task %d (%s): worker %d, start = %.2f, finish = %.2f%n",
+                                  v, graph.getNodeLabel(v), worker[v], start[v], finish[v]);
+            }
+            System.out.printf("Makespan: %.2f (critical path: %.2f)%n", makespan, criticalPathLength);
+        }
+    }
+}
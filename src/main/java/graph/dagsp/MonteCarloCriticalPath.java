@@ -0,0 +1,390 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo critical path analysis of a DAG with uncertain edge weights.
+ *
+ * Every edge gets a duration distribution. Each sample draws all edge
+ * weights, runs one longest-path sweep from all sources over the shared
+ * topological plan, records the makespan and walks back the critical path
+ * to count how often each task lies on it.
+ *
+ * Samples are split into fixed-size chunks processed in parallel. Every
+ * chunk owns a random generator split from the seed in chunk order and its
+ * own scratch arrays, so results depend only on the seed, not on the
+ * number of cores or the scheduling.
+ * Complexity: O(samples * (V + E))
+ */
+public class MonteCarloCriticalPath {
+    /** Samples per parallel task. */
+    private static final int SAMPLES_PER_CHUNK = 256;
+
+    private static final byte FIXED = 0;
+    private static final byte UNIFORM = 1;
+    private static final byte TRIANGULAR = 2;
+
+    private final Graph graph;
+    private final TopologicalPlan plan;
+    private final Metrics metrics;
+
+    // Distribution parameters per plan edge slot
+    private final byte[] kind;
+    private final double[] low;
+    private final double[] mode;
+    private final double[] high;
+
+    /**
+     * Creates a simulation that computes its own topological plan.
+     * @param graph the input DAG
+     * @param distributions distribution of every edge
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public MonteCarloCriticalPath(Graph graph, DistributionFactory distributions) {
+        this(graph, new TopologicalPlan(graph), distributions);
+    }
+
+    /**
+     * Creates a simulation reusing a prepared plan.
+     * @param graph the input DAG
+     * @param plan topological plan of the graph
+     * @param distributions distribution of every edge
+     */
+    public MonteCarloCriticalPath(Graph graph, TopologicalPlan plan, DistributionFactory distributions) {
+        this.graph = graph;
+        this.plan = plan;
+        this.metrics = new MetricsImpl();
+
+        int m = plan.getEdgeCount();
+        this.kind = new byte[m];
+        this.low = new double[m];
+        this.mode = new double[m];
+        this.high = new double[m];
+
+        // Plan slots list each vertex's edges in adjacency order
+        int[] order = plan.getOrder();
+        int slot = 0;
+        for (int i = 0; i < plan.getVertexCount(); i++) {
+            for (Graph.Edge edge : graph.getEdges(order[i])) {
+                Distribution d = distributions.forEdge(order[i], edge);
+                kind[slot] = d.kind;
+                low[slot] = d.low;
+                mode[slot] = d.mode;
+                high[slot] = d.high;
+                slot++;
+            }
+        }
+    }
+
+    /**
+     * Creates a simulation where every edge weight varies uniformly within
+     * a relative spread around its nominal weight.
+     * @param graph the input DAG
+     * @param spread relative spread, e.g. 0.2 for +/- 20%
+     * @return the simulation
+     */
+    public static MonteCarloCriticalPath withUniformSpread(Graph graph, double spread) {
+        return new MonteCarloCriticalPath(graph, (from, edge) ->
+            Distribution.uniform(edge.weight * (1 - spread), edge.weight * (1 + spread)));
+    }
+
+    /**
+     * Runs the simulation.
+     * @param samples number of samples
+     * @param seed random seed; equal seeds give equal results
+     * @return the simulation result
+     */
+    public Result simulate(int samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Sample count must be positive: " + samples);
+        }
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = plan.getVertexCount();
+        int chunks = (samples + SAMPLES_PER_CHUNK - 1) / SAMPLES_PER_CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        double[] makespans = new double[samples];
+        long[] criticalCounts = new long[n];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int first = c * SAMPLES_PER_CHUNK;
+            int last = Math.min(samples, first + SAMPLES_PER_CHUNK);
+            int[] counts = new int[n];
+            runChunk(randoms[c], first, last, makespans, counts);
+            synchronized (criticalCounts) {
+                for (int v = 0; v < n; v++) {
+                    criticalCounts[v] += counts[v];
+                }
+            }
+        });
+
+        metrics.incrementCounter("samples", samples);
+        metrics.incrementCounter("edge_samples", (long) samples * plan.getEdgeCount());
+        metrics.stopTimer();
+        return new Result(makespans, criticalCounts);
+    }
+
+    /**
+     * Runs the samples of one chunk with its own scratch arrays.
+     */
+    private void runChunk(SplittableRandom random, int first, int last, double[] makespans, int[] counts) {
+        int n = plan.getVertexCount();
+        int[] order = plan.getOrder();
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        double[] weights = new double[plan.getEdgeCount()];
+        double[] es = new double[n];
+        int[] pred = new int[n];
+
+        for (int s = first; s < last; s++) {
+            for (int e = 0; e < weights.length; e++) {
+                weights[e] = sample(e, random);
+            }
+
+            // Longest paths from all sources: every task may start at time 0
+            Arrays.fill(es, 0);
+            Arrays.fill(pred, -1);
+            for (int i = 0; i < n; i++) {
+                double du = es[i];
+                for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                    int j = targets[e];
+                    double newDist = du + weights[e];
+                    if (newDist > es[j]) {
+                        es[j] = newDist;
+                        pred[j] = i;
+                    }
+                }
+            }
+
+            int end = -1;
+            double makespan = 0;
+            for (int i = 0; i < n; i++) {
+                if (end == -1 || es[i] > makespan) {
+                    makespan = es[i];
+                    end = i;
+                }
+            }
+            makespans[s] = makespan;
+            for (int i = end; i != -1; i = pred[i]) {
+                counts[order[i]]++;
+            }
+        }
+    }
+
+    private double sample(int e, SplittableRandom random) {
+        switch (kind[e]) {
+            case UNIFORM:
+                return low[e] + (high[e] - low[e]) * random.nextDouble();
+            case TRIANGULAR: {
+                double a = low[e];
+                double c = mode[e];
+                double b = high[e];
+                if (b <= a) {
+                    return a;
+                }
+                double u = random.nextDouble();
+                double split = (c - a) / (b - a);
+                return u < split
+                    ? a + Math.sqrt(u * (b - a) * (c - a))
+                    : b - Math.sqrt((1 - u) * (b - a) * (b - c));
+            }
+            default:
+                return low[e];
+        }
+    }
+
+    /**
+     * Gets the metrics collected during the last simulation.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Chooses the distribution of an edge.
+     */
+    @FunctionalInterface
+    public interface DistributionFactory {
+        /**
+         * Gets the distribution of one edge.
+         * @param from source vertex of the edge
+         * @param edge the edge, with its nominal weight
+         * @return the edge weight distribution
+         */
+        Distribution forEdge(int from, Graph.Edge edge);
+    }
+
+    /**
+     * Distribution of an edge weight.
+     */
+    public static final class Distribution {
+        private final byte kind;
+        private final double low;
+        private final double mode;
+        private final double high;
+
+        private Distribution(byte kind, double low, double mode, double high) {
+            this.kind = kind;
+            this.low = low;
+            this.mode = mode;
+            this.high = high;
+        }
+
+        /**
+         * A weight that never varies.
+         * @param value the weight
+         * @return the distribution
+         */
+        public static Distribution fixed(double value) {
+            return new Distribution(FIXED, value, value, value);
+        }
+
+        /**
+         * A weight uniformly distributed in [low, high).
+         * @param low smallest weight
+         * @param high largest weight
+         * @return the distribution
+         */
+        public static Distribution uniform(double low, double high) {
+            if (high < low) {
+                throw new IllegalArgumentException("Invalid range: " + low + " to " + high);
+            }
+            return new Distribution(UNIFORM, low, (low + high) / 2, high);
+        }
+
+        /**
+         * A triangular distribution, the usual three-point task estimate.
+         * @param low optimistic weight
+         * @param mode most likely weight
+         * @param high pessimistic weight
+         * @return the distribution
+         */
+        public static Distribution triangular(double low, double mode, double high) {
+            if (mode < low || high < mode) {
+                throw new IllegalArgumentException("Invalid estimate: " + low + ", " + mode + ", " + high);
+            }
+            return new Distribution(TRIANGULAR, low, mode, high);
+        }
+    }
+
+    /**
+     * Makespan distribution and criticality indices of a simulation.
+     */
+    public class Result {
+        private final double[] sortedMakespans;
+        private final long[] criticalCounts;
+        private final double mean;
+        private final double standardDeviation;
+
+        Result(double[] makespans, long[] criticalCounts) {
+            this.sortedMakespans = makespans;
+            this.criticalCounts = criticalCounts;
+            Arrays.sort(sortedMakespans);
+
+            double sum = 0;
+            for (double x : sortedMakespans) {
+                sum += x;
+            }
+            this.mean = sum / sortedMakespans.length;
+            double squares = 0;
+            for (double x : sortedMakespans) {
+                squares += (x - mean) * (x - mean);
+            }
+            this.standardDeviation = sortedMakespans.length > 1
+                ? Math.sqrt(squares / (sortedMakespans.length - 1)) : 0;
+        }
+
+        /**
+         * Gets the number of samples.
+         * @return sample count
+         */
+        public int getSampleCount() {
+            return sortedMakespans.length;
+        }
+
+        /**
+         * Gets the mean makespan.
+         * @return mean
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * Gets the sample standard deviation of the makespan.
+         * @return standard deviation
+         */
+        public double getStandardDeviation() {
+            return standardDeviation;
+        }
+
+        /**
+         * Gets a makespan percentile (nearest rank).
+         * @param percentile value in [0, 100]
+         * @return the makespan not exceeded by that share of samples
+         */
+        public double getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Invalid percentile: " + percentile);
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedMakespans.length);
+            return sortedMakespans[Math.max(0, rank - 1)];
+        }
+
+        /**
+         * Gets the smallest sampled makespan.
+         * @return minimum
+         */
+        public double getMin() {
+            return sortedMakespans[0];
+        }
+
+        /**
+         * Gets the largest sampled makespan.
+         * @return maximum
+         */
+        public double getMax() {
+            return sortedMakespans[sortedMakespans.length - 1];
+        }
+
+        /**
+         * Gets the criticality index of a task: the share of samples in
+         * which it lies on the critical path.
+         * @param vertex the task
+         * @return value in [0, 1]
+         */
+        public double getCriticality(int vertex) {
+            return (double) criticalCounts[vertex] / sortedMakespans.length;
+        }
+
+        /**
+         * Prints the makespan distribution and the most critical tasks.
+         */
+        public void print() {
+            System.out.println("=== Monte Carlo Critical Path ===");
+            System.out.printf("Samples: %d%n", getSampleCount());
+            System.out.printf("Makespan: mean = %.2f, stddev = %.2f, min = %.2f, max = %.2f%n",
+                              mean, standardDeviation, getMin(), getMax());
+            System.out.printf("Percentiles: P50 = %.2f, P80 = %.2f, P95 = %.2f%n",
+                              getPercentile(50), getPercentile(80), getPercentile(95));
+            for (int v = 0; v < criticalCounts.length; v++) {
+                if (criticalCounts[v] > 0) {
+                    System.out.printf("%d (%s): criticality = %.3f%n",
+                                      v, graph.getNodeLabel(v), getCriticality(v));
+                }
+            }
+        }
+    }
+}
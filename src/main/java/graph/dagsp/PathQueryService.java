@@ -0,0 +1,234 @@
+package graph.dagsp;
+
+import graph.common.ConcurrentMetrics;
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.NoOpMetrics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Thread-safe query layer that caches single-source path results.
+ *
+ * Results are cached per (graph version, source, shortest/longest) in an LRU
+ * map bounded both by entry count and by an estimate of their memory
+ * (two V-length arrays each). Cache hits only take a short lock, so many
+ * readers are served concurrently; misses are computed one at a time on a
+ * shared prepared solver. When the graph version changes, the solver is
+ * re-prepared and entries of older versions are dropped.
+ *
+ * Hits, misses, evictions and invalidations are counted in {@link #getMetrics()},
+ * a thread-safe collector that can be read while queries run.
+ * Cached results are shared between callers and must not be modified.
+ * The graph itself must not be modified while queries are running.
+ */
+public class PathQueryService {
+    private final Graph graph;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Metrics metrics;
+
+    // Guarded by itself; also guards cachedBytes
+    private final LinkedHashMap<Key, DAGShortestPath.PathResult> cache;
+    private long cachedBytes;
+
+    // Guarded by solverLock
+    private final Object solverLock = new Object();
+    private DAGShortestPath solver;
+    private int solverVersion;
+
+    /**
+     * Creates a service bounded by entry count only.
+     * @param graph the input DAG
+     * @param maxEntries maximum number of cached results
+     */
+    public PathQueryService(Graph graph, int maxEntries) {
+        this(graph, maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a service bounded by entry count and estimated memory.
+     * @param graph the input DAG
+     * @param maxEntries maximum number of cached results
+     * @param maxBytes maximum estimated bytes held by cached results
+     */
+    public PathQueryService(Graph graph, int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.graph = graph;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.metrics = new ConcurrentMetrics();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets shortest paths from a source, from the cache if possible.
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     */
+    public DAGShortestPath.PathResult shortestPath(int source) {
+        return query(source, false);
+    }
+
+    /**
+     * Gets longest paths from a source, from the cache if possible.
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     */
+    public DAGShortestPath.PathResult longestPath(int source) {
+        return query(source, true);
+    }
+
+    private DAGShortestPath.PathResult query(int source, boolean longest) {
+        Key key = new Key(graph.getVersion(), source, longest);
+        DAGShortestPath.PathResult result = lookup(key);
+        if (result != null) {
+            return result;
+        }
+
+        synchronized (solverLock) {
+            // Another thread may have computed it while we waited
+            result = lookup(key);
+            if (result != null) {
+                return result;
+            }
+            synchronized (cache) {
+                metrics.incrementCounter("cache_misses");
+            }
+
+            if (solver == null || solverVersion != key.version) {
+                solver = new DAGShortestPath(graph, NoOpMetrics.INSTANCE);
+                solver.prepare();
+                solverVersion = key.version;
+                invalidateOtherVersions(key.version);
+            }
+            result = longest ? solver.longestPath(source) : solver.shortestPath(source);
+            store(key, result);
+            return result;
+        }
+    }
+
+    private DAGShortestPath.PathResult lookup(Key key) {
+        synchronized (cache) {
+            DAGShortestPath.PathResult result = cache.get(key);
+            if (result != null) {
+                metrics.incrementCounter("cache_hits");
+            }
+            return result;
+        }
+    }
+
+    private void store(Key key, DAGShortestPath.PathResult result) {
+        synchronized (cache) {
+            cache.put(key, result);
+            cachedBytes += result.estimateBytes();
+
+            // Evict least recently used entries, always keeping the new one
+            Iterator<Map.Entry<Key, DAGShortestPath.PathResult>> it = cache.entrySet().iterator();
+            while ((cache.size() > maxEntries || cachedBytes > maxBytes) && cache.size() > 1) {
+                Map.Entry<Key, DAGShortestPath.PathResult> eldest = it.next();
+                cachedBytes -= eldest.getValue().estimateBytes();
+                it.remove();
+                metrics.incrementCounter("cache_evictions");
+            }
+        }
+    }
+
+    private void invalidateOtherVersions(int version) {
+        synchronized (cache) {
+            Iterator<Map.Entry<Key, DAGShortestPath.PathResult>> it = cache.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, DAGShortestPath.PathResult> entry = it.next();
+                if (entry.getKey().version != version) {
+                    cachedBytes -= entry.getValue().estimateBytes();
+                    it.remove();
+                    metrics.incrementCounter("cache_invalidations");
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    /**
+     * Gets the number of cached results.
+     * @return cache size
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Gets the estimated bytes held by cached results.
+     * @return estimated cache footprint
+     */
+    public long getCachedBytes() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
+    /**
+     * Gets the fraction of queries answered from the cache.
+     * @return hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        synchronized (cache) {
+            long hits = metrics.getCounter("cache_hits");
+            long total = hits + metrics.getCounter("cache_misses");
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Gets the cache counters: cache_hits, cache_misses, cache_evictions
+     * and cache_invalidations.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Cache key of a single-source query.
+     */
+    private static final class Key {
+        final int version;
+        final int source;
+        final boolean longest;
+
+        Key(int version, int source, boolean longest) {
+            this.version = version;
+            this.source = source;
+            this.longest = longest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && source == other.source && longest == other.longest;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, source, longest);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates shortest or longest paths of one DAG under many weight scenarios
+ * at once, without building a graph per scenario.
+ *
+ * Weights are given as a columnar matrix in edge-major order: the weight of
+ * edge {@code e} in scenario {@code s} is {@code weights[e * S + s]}, where
+ * edges are numbered as in {@link TopologicalPlan#getEdgeIds()}. Distances
+ * are stored the same way per topological position, so one pass over the
+ * edges applies each edge to all scenarios in a tight inner loop.
+ * Scenarios are split into blocks that are swept in parallel.
+ * Complexity: O(S * (V + E))
+ */
+public class ScenarioEvaluator {
+    /** Scenarios per parallel block. */
+    private static final int SCENARIO_BLOCK_SIZE = 64;
+
+    private final Graph graph;
+    private final TopologicalPlan plan;
+    private final Metrics metrics;
+
+    /**
+     * Creates an evaluator that computes its own topological plan.
+     * @param graph the input DAG (its weights are ignored)
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public ScenarioEvaluator(Graph graph) {
+        this(graph, new TopologicalPlan(graph));
+    }
+
+    /**
+     * Creates an evaluator reusing a prepared plan.
+     * @param graph the input DAG (its weights are ignored)
+     * @param plan topological plan of the graph
+     */
+    public ScenarioEvaluator(Graph graph, TopologicalPlan plan) {
+        this.graph = graph;
+        this.plan = plan;
+        this.metrics = new MetricsImpl();
+    }
+
+    /**
+     * Builds a columnar weight matrix from one weight vector per scenario.
+     * @param scenarioWeights one array of edge weights (by edge id) per scenario
+     * @return edge-major weight matrix
+     */
+    public static double[] toColumnar(double[][] scenarioWeights) {
+        int scenarios = scenarioWeights.length;
+        int edges = scenarios == 0 ? 0 : scenarioWeights[0].length;
+        double[] matrix = new double[matrixSize(edges, scenarios)];
+        for (int s = 0; s < scenarios; s++) {
+            if (scenarioWeights[s].length != edges) {
+                throw new IllegalArgumentException("Scenario " + s + " has " + scenarioWeights[s].length
+                                                   + " weights, expected " + edges);
+            }
+            for (int e = 0; e < edges; e++) {
+                matrix[e * scenarios + s] = scenarioWeights[s][e];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Gets the length of a rows x scenarios matrix.
+     * @throws IllegalArgumentException if it does not fit in an array
+     */
+    private static int matrixSize(int rows, int scenarios) {
+        try {
+            return Math.multiplyExact(rows, scenarios);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(rows + " rows x " + scenarios
+                                               + " scenarios do not fit in one array");
+        }
+    }
+
+    /**
+     * Computes shortest paths from a source in every scenario.
+     * @param source the source vertex
+     * @param weights edge-major weight matrix, E * scenarios long
+     * @param scenarios number of scenarios
+     * @return distances and predecessors of all scenarios
+     */
+    public Result shortestPaths(int source, double[] weights, int scenarios) {
+        return evaluate(source, weights, scenarios, false);
+    }
+
+    /**
+     * Computes longest paths from a source in every scenario.
+     * @param source the source vertex
+     * @param weights edge-major weight matrix, E * scenarios long
+     * @param scenarios number of scenarios
+     * @return distances and predecessors of all scenarios
+     */
+    public Result longestPaths(int source, double[] weights, int scenarios) {
+        return evaluate(source, weights, scenarios, true);
+    }
+
+    private Result evaluate(int source, double[] weights, int scenarios, boolean longest) {
+        int n = plan.getVertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Invalid vertex: " + source);
+        }
+        if (scenarios <= 0 || weights.length != (long) plan.getEdgeCount() * scenarios) {
+            throw new IllegalArgumentException("Weight matrix must hold " + plan.getEdgeCount()
+                                               + " edges x " + scenarios + " scenarios");
+        }
+        metrics.reset();
+        metrics.startTimer();
+
+        int size = matrixSize(n, scenarios);
+        double[] dist = new double[size];
+        int[] pred = new int[size];
+        int start = plan.getPosition(source);
+        int blocks = (scenarios + SCENARIO_BLOCK_SIZE - 1) / SCENARIO_BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * SCENARIO_BLOCK_SIZE;
+            int to = Math.min(scenarios, from + SCENARIO_BLOCK_SIZE);
+            sweep(start, weights, scenarios, from, to, longest, dist, pred);
+        });
+
+        long edgeScans = plan.getOffsets()[n] - plan.getOffsets()[start];
+        metrics.incrementCounter("edge_scans", edgeScans * blocks);
+        metrics.incrementCounter("relaxations", edgeScans * scenarios);
+        metrics.stopTimer();
+        return new Result(dist, pred, scenarios, source, longest);
+    }
+
+    /**
+     * Sweeps scenarios [from, to) over the topological order.
+     * Every scenario has the same source, so positions before it are
+     * unreachable in all of them and are skipped.
+     */
+    private void sweep(int start, double[] weights, int scenarios, int from, int to,
+                       boolean longest, double[] dist, int[] pred) {
+        int n = plan.getVertexCount();
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        int[] edgeIds = plan.getEdgeIds();
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(dist, i * scenarios + from, i * scenarios + to, unreached);
+            Arrays.fill(pred, i * scenarios + from, i * scenarios + to, -1);
+        }
+        Arrays.fill(dist, start * scenarios + from, start * scenarios + to, 0);
+
+        for (int i = start; i < n; i++) {
+            int row = i * scenarios;
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int targetRow = targets[e] * scenarios;
+                int weightRow = edgeIds[e] * scenarios;
+                if (longest) {
+                    for (int s = from; s < to; s++) {
+                        double newDist = dist[row + s] + weights[weightRow + s];
+                        if (newDist > dist[targetRow + s]) {
+                            dist[targetRow + s] = newDist;
+                            pred[targetRow + s] = i;
+                        }
+                    }
+                } else {
+                    for (int s = from; s < to; s++) {
+                        double newDist = dist[row + s] + weights[weightRow + s];
+                        if (newDist < dist[targetRow + s]) {
+                            dist[targetRow + s] = newDist;
+                            pred[targetRow + s] = i;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the metrics collected during the last evaluation.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Distances and predecessors of all scenarios, stored by topological
+     * position and scenario.
+     */
+    public class Result {
+        private final double[] dist;
+        private final int[] pred;
+        private final int scenarios;
+        private final int source;
+        private final boolean longest;
+
+        Result(double[] dist, int[] pred, int scenarios, int source, boolean longest) {
+            this.dist = dist;
+            this.pred = pred;
+            this.scenarios = scenarios;
+            this.source = source;
+            this.longest = longest;
+        }
+
+        /**
+         * Gets the number of scenarios.
+         * @return scenario count
+         */
+        public int getScenarioCount() {
+            return scenarios;
+        }
+
+        /**
+         * Gets the distance to a vertex in one scenario.
+         * @param scenario the scenario
+         * @param vertex the target vertex
+         * @return distance, or an infinity if unreachable
+         */
+        public double getDistance(int scenario, int vertex) {
+            return dist[plan.getPosition(vertex) * scenarios + scenario];
+        }
+
+        /**
+         * Checks if a vertex is unreachable from the source in one scenario.
+         * Scenarios may differ, e.g. when an infinite weight disables an edge.
+         * @param scenario the scenario
+         * @param vertex the target vertex
+         * @return true if unreachable
+         */
+        public boolean isUnreachable(int scenario, int vertex) {
+            double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            return getDistance(scenario, vertex) == unreached;
+        }
+
+        /**
+         * Gets the best path to a vertex in one scenario.
+         * @param scenario the scenario
+         * @param vertex the destination vertex
+         * @return vertices of the path, or an empty array if unreachable
+         */
+        public int[] getPath(int scenario, int vertex) {
+            if (isUnreachable(scenario, vertex)) {
+                return new int[0];
+            }
+            int[] order = plan.getOrder();
+            int length = 1;
+            for (int p = pred[plan.getPosition(vertex) * scenarios + scenario]; p != -1;
+                 p = pred[p * scenarios + scenario]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int k = length - 1, p = plan.getPosition(vertex); k >= 0; k--) {
+                path[k] = order[p];
+                p = pred[p * scenarios + scenario];
+            }
+            return path;
+        }
+
+        /**
+         * Extracts one scenario as a regular path result.
+         * @param scenario the scenario
+         * @return PathResult indexed by vertex
+         */
+        public DAGShortestPath.PathResult toPathResult(int scenario) {
+            int n = plan.getVertexCount();
+            int[] order = plan.getOrder();
+            double[] distances = new double[n];
+            int[] predecessors = new int[n];
+            for (int i = 0; i < n; i++) {
+                int v = order[i];
+                distances[v] = dist[i * scenarios + scenario];
+                int p = pred[i * scenarios + scenario];
+                predecessors[v] = p < 0 ? -1 : order[p];
+            }
+            return new DAGShortestPath.PathResult(graph, distances, predecessors, source, longest);
+        }
+    }
+}
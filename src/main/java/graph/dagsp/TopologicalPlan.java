@@ -0,0 +1,277 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.NoOpMetrics;
+import graph.topo.KahnTopologicalSort;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed topological order of a DAG together with its edges in
+ * compressed sparse row (CSR) form, permuted into topological order.
+ * Vertices are addressed by their position in the order, so a relaxation
+ * sweep reads the offset, target and weight arrays strictly sequentially.
+ * An in-edge index in the same position space supports backward traversals;
+ * each vertex's in-edges are listed in the order a forward sweep relaxes them.
+ * Vertices can also be grouped into levels, where every in-edge comes from
+ * an earlier level, so the vertices of one level are independent.
+ *
+ * The plan is a snapshot: edges added to the graph afterwards are not seen.
+ * {@link #getGraphVersion()} tells users whether the graph changed since.
+ * Arrays returned by the getters are shared and must not be modified.
+ */
+public class TopologicalPlan {
+    private final int vertices;
+    private final int graphVersion;
+    private final int[] order;
+    private final int[] position;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] edgeIds;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final double[] inWeights;
+
+    // Hop levels, built on first use
+    private int[] levelOffsets;
+    private int[] levelPositions;
+
+    /**
+     * Builds the plan for the given DAG.
+     * @param graph the input DAG
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public TopologicalPlan(Graph graph) {
+        this.vertices = graph.getVertexCount();
+        this.graphVersion = graph.getVersion();
+
+        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph, NoOpMetrics.INSTANCE);
+        List<Integer> topoOrder = topoSort.sort();
+        if (topoOrder.size() != vertices) {
+            throw new IllegalStateException("Graph contains a cycle");
+        }
+
+        order = new int[vertices];
+        position = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            int v = topoOrder.get(i);
+            order[i] = v;
+            position[v] = i;
+        }
+
+        // Edges of the i-th vertex in the order occupy [offsets[i], offsets[i + 1])
+        offsets = new int[vertices + 1];
+        for (int i = 0; i < vertices; i++) {
+            offsets[i + 1] = offsets[i] + graph.getEdges(order[i]).size();
+        }
+        targets = new int[offsets[vertices]];
+        weights = new double[offsets[vertices]];
+
+        // Edge ids number the edges by source vertex id, then adjacency order
+        int[] firstEdgeId = new int[vertices + 1];
+        for (int v = 0; v < vertices; v++) {
+            firstEdgeId[v + 1] = firstEdgeId[v] + graph.getEdges(v).size();
+        }
+        edgeIds = new int[offsets[vertices]];
+        for (int i = 0; i < vertices; i++) {
+            int k = offsets[i];
+            int id = firstEdgeId[order[i]];
+            for (Graph.Edge edge : graph.getEdges(order[i])) {
+                targets[k] = position[edge.to];
+                weights[k] = edge.weight;
+                edgeIds[k] = id++;
+                k++;
+            }
+        }
+
+        // In-edges by counting sort on the target position
+        inOffsets = new int[vertices + 1];
+        for (int t : targets) {
+            inOffsets[t + 1]++;
+        }
+        for (int i = 0; i < vertices; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        inSources = new int[targets.length];
+        inWeights = new double[targets.length];
+        int[] fill = Arrays.copyOf(inOffsets, vertices);
+        for (int i = 0; i < vertices; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int slot = fill[targets[e]]++;
+                inSources[slot] = i;
+                inWeights[slot] = weights[e];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of vertices.
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return vertices;
+    }
+
+    /**
+     * Gets the version of the graph the plan was built from.
+     * @return graph version, see {@link Graph#getVersion()}
+     */
+    public int getGraphVersion() {
+        return graphVersion;
+    }
+
+    /**
+     * Gets the number of edges.
+     * @return edge count
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the vertices in topological order.
+     * @return array mapping position to vertex
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Gets the topological position of every vertex.
+     * @return array mapping vertex to position
+     */
+    public int[] getPositions() {
+        return position;
+    }
+
+    /**
+     * Gets the topological position of a vertex.
+     * @param vertex the vertex
+     * @return its position in the order
+     */
+    public int getPosition(int vertex) {
+        return position[vertex];
+    }
+
+    /**
+     * Gets the CSR row offsets, indexed by position (length V + 1).
+     * @return offsets array
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the edge targets as topological positions.
+     * @return targets array
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Gets the edge weights, aligned with {@link #getTargets()}.
+     * @return weights array
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets the edge ids, aligned with {@link #getTargets()}. Edge ids number
+     * the graph's edges in the order of {@code graph.getEdges(0)},
+     * {@code graph.getEdges(1)}, and so on, independent of the topological order.
+     * @return edge ids array
+     */
+    public int[] getEdgeIds() {
+        return edgeIds;
+    }
+
+    /**
+     * Gets the in-edge row offsets, indexed by target position (length V + 1).
+     * @return in-edge offsets array
+     */
+    public int[] getInOffsets() {
+        return inOffsets;
+    }
+
+    /**
+     * Gets the in-edge sources as topological positions.
+     * @return in-edge sources array
+     */
+    public int[] getInSources() {
+        return inSources;
+    }
+
+    /**
+     * Gets the in-edge weights, aligned with {@link #getInSources()}.
+     * @return in-edge weights array
+     */
+    public double[] getInWeights() {
+        return inWeights;
+    }
+
+    /**
+     * Groups the positions by level: sources are level 0, every other vertex
+     * is one level below its deepest predecessor.
+     */
+    private synchronized void buildLevels() {
+        if (levelOffsets != null) {
+            return;
+        }
+        int[] level = new int[vertices];
+        int levels = vertices == 0 ? 0 : 1;
+        for (int i = 0; i < vertices; i++) {
+            for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+                level[i] = Math.max(level[i], level[inSources[e]] + 1);
+            }
+            levels = Math.max(levels, level[i] + 1);
+        }
+
+        // Counting sort keeps positions ascending within each level
+        int[] offsetsByLevel = new int[levels + 1];
+        for (int i = 0; i < vertices; i++) {
+            offsetsByLevel[level[i] + 1]++;
+        }
+        for (int l = 0; l < levels; l++) {
+            offsetsByLevel[l + 1] += offsetsByLevel[l];
+        }
+        int[] positions = new int[vertices];
+        int[] fill = Arrays.copyOf(offsetsByLevel, levels);
+        for (int i = 0; i < vertices; i++) {
+            positions[fill[level[i]]++] = i;
+        }
+        levelPositions = positions;
+        levelOffsets = offsetsByLevel;
+    }
+
+    /**
+     * Gets the number of levels (the number of vertices on the longest path by hops).
+     * @return level count
+     */
+    public int getLevelCount() {
+        buildLevels();
+        return levelOffsets.length - 1;
+    }
+
+    /**
+     * Gets the level row offsets: level l occupies
+     * {@code [levelOffsets[l], levelOffsets[l + 1])} of {@link #getLevelPositions()}.
+     * @return level offsets array
+     */
+    public int[] getLevelOffsets() {
+        buildLevels();
+        return levelOffsets;
+    }
+
+    /**
+     * Gets the positions grouped by level, ascending within each level.
+     * @return level positions array
+     */
+    public int[] getLevelPositions() {
+        buildLevels();
+        return levelPositions;
+    }
+}
@@ -0,0 +1,33 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building the condensation DAG of the SCCs.
+ */
+@Name("graph.Condensation")
+@Label("Condensation")
+public class CondensationEvent extends GraphEvent {
+    @Label("Component Count")
+    int componentCount;
+
+    @Label("Condensation Edge Count")
+    int condensationEdgeCount;
+
+    /**
+     * Ends the event and commits it if enabled.
+     * @param graph the input graph
+     * @param condensation the condensation built from it
+     */
+    public void finish(Graph graph, Graph condensation) {
+        end();
+        if (shouldCommit()) {
+            describe(graph);
+            componentCount = condensation.getVertexCount();
+            condensationEdgeCount = condensation.getEdgeCount();
+            commit();
+        }
+    }
+}
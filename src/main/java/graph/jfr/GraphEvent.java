@@ -0,0 +1,36 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the JFR events emitted by the graph algorithms.
+ * Events are created and begun before a phase and committed after it; when
+ * recording is off, {@link #shouldCommit()} is false and the graph is not
+ * inspected, so the overhead is a short-lived object per phase.
+ */
+@Category({"Graph", "Algorithms"})
+public abstract class GraphEvent extends Event {
+    @Label("Vertex Count")
+    int vertexCount;
+
+    @Label("Edge Count")
+    int edgeCount;
+
+    @Label("Graph Version")
+    @Description("Modification count of the input graph")
+    int graphVersion;
+
+    /**
+     * Records the size and version of the input graph.
+     * @param graph the input graph
+     */
+    protected void describe(Graph graph) {
+        vertexCount = graph.getVertexCount();
+        edgeCount = graph.getEdgeCount();
+        graphVersion = graph.getVersion();
+    }
+}
@@ -0,0 +1,29 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading a graph from a JSON file.
+ */
+@Name("graph.GraphLoad")
+@Label("Graph Load")
+public class GraphLoadEvent extends GraphEvent {
+    @Label("File")
+    String file;
+
+    /**
+     * Ends the event and commits it if enabled.
+     * @param file the loaded file
+     * @param graph the loaded graph
+     */
+    public void finish(String file, Graph graph) {
+        end();
+        if (shouldCommit()) {
+            this.file = file;
+            describe(graph);
+            commit();
+        }
+    }
+}
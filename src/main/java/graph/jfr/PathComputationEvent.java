@@ -0,0 +1,42 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A shortest or longest path query on a DAG.
+ */
+@Name("graph.PathComputation")
+@Label("Path Computation")
+public class PathComputationEvent extends GraphEvent {
+    @Label("Kind")
+    @Description("shortest or longest")
+    String kind;
+
+    @Label("Source")
+    @Description("Source vertex, or -1 for batched queries")
+    int source;
+
+    @Label("Source Count")
+    int sourceCount;
+
+    /**
+     * Ends the event and commits it if enabled.
+     * @param graph the input graph
+     * @param kind "shortest" or "longest"
+     * @param source the source vertex, or -1 for batched queries
+     * @param sourceCount number of sources computed
+     */
+    public void finish(Graph graph, String kind, int source, int sourceCount) {
+        end();
+        if (shouldCommit()) {
+            describe(graph);
+            this.kind = kind;
+            this.source = source;
+            this.sourceCount = sourceCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Strongly connected component detection.
+ */
+@Name("graph.Scc")
+@Label("SCC Detection")
+public class SccEvent extends GraphEvent {
+    @Label("Component Count")
+    int componentCount;
+
+    /**
+     * Ends the event and commits it if enabled.
+     * @param graph the input graph
+     * @param componentCount number of SCCs found
+     */
+    public void finish(Graph graph, int componentCount) {
+        end();
+        if (shouldCommit()) {
+            describe(graph);
+            this.componentCount = componentCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Topological sorting.
+ */
+@Name("graph.TopoSort")
+@Label("Topological Sort")
+public class TopoSortEvent extends GraphEvent {
+    @Label("Acyclic")
+    boolean acyclic;
+
+    /**
+     * Ends the event and commits it if enabled.
+     * @param graph the input graph
+     * @param acyclic true if a full order was found
+     */
+    public void finish(Graph graph, boolean acyclic) {
+        end();
+        if (shouldCommit()) {
+            describe(graph);
+            this.acyclic = acyclic;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package graph.reach;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+import graph.common.NoOpMetrics;
+import graph.dagsp.TopologicalPlan;
+import graph.scc.TarjanSCC;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Reachability index answering "can vertex A reach vertex B" on any
+ * directed graph without running a path computation per query.
+ *
+ * Vertices are first mapped to their SCC (vertices in one SCC reach each
+ * other), and the index is built over the condensation DAG:
+ * - small condensations store the full transitive closure as bitsets,
+ *   so queries are a single bit test;
+ * - large condensations store topological positions, levels and a few
+ *   randomized DFS interval labels. Most negative answers come from the
+ *   position, level or interval tests, most positive answers from DFS tree
+ *   intervals, and the rest fall back to a DFS pruned by the same labels.
+ * Complexity: O(C^2 / 64 + C * E / 64) build for the closure,
+ * O(k * (C + E)) build for k interval labels.
+ */
+public class ReachabilityIndex {
+    /** Condensations up to this many components use a bitset closure by default. */
+    public static final int DEFAULT_CLOSURE_LIMIT = 4096;
+    private static final int INTERVAL_LABELS = 3;
+
+    private final int[] componentOf;
+    private final int components;
+    private final Metrics metrics;
+
+    // Condensation in topological order; all labels are indexed by position
+    private final TopologicalPlan plan;
+
+    // Bitset closure, one row per position (small condensations)
+    private long[][] closure;
+
+    // Labels of large condensations
+    private int[] level;
+    private int[][] low;
+    private int[][] post;
+    private int[] treePre;
+
+    // Per-thread scratch for fallback searches
+    private ThreadLocal<Scratch> scratch;
+
+    /**
+     * Builds the index with the default closure limit.
+     * @param graph the input graph (cycles allowed)
+     */
+    public ReachabilityIndex(Graph graph) {
+        this(graph, DEFAULT_CLOSURE_LIMIT);
+    }
+
+    /**
+     * Builds the index.
+     * @param graph the input graph (cycles allowed)
+     * @param closureLimit largest condensation for which the full closure is stored
+     */
+    public ReachabilityIndex(Graph graph, int closureLimit) {
+        this.metrics = new MetricsImpl();
+        metrics.startTimer();
+
+        TarjanSCC tarjan = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+        tarjan.findSCCs();
+        this.componentOf = tarjan.getComponentMapping();
+        Graph condensation = graph.getVertexCount() == 0 ? new Graph(0) : tarjan.buildCondensation();
+        this.components = condensation.getVertexCount();
+        this.plan = new TopologicalPlan(condensation);
+
+        if (components <= closureLimit) {
+            buildClosure();
+            metrics.incrementCounter("closure_words", (long) components * ((components + 63) >>> 6));
+        } else {
+            buildLabels();
+            metrics.incrementCounter("interval_labels", INTERVAL_LABELS);
+        }
+        metrics.incrementCounter("components", components);
+        metrics.stopTimer();
+    }
+
+    /**
+     * Transitive closure as bitsets, in reverse topological order.
+     */
+    private void buildClosure() {
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        int words = (components + 63) >>> 6;
+        closure = new long[components][];
+        for (int i = components - 1; i >= 0; i--) {
+            long[] row = new long[words];
+            row[i >>> 6] |= 1L << i;
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                long[] succ = closure[targets[e]];
+                // A successor's row has no bits before its own position
+                for (int w = targets[e] >>> 6; w < words; w++) {
+                    row[w] |= succ[w];
+                }
+            }
+            closure[i] = row;
+        }
+    }
+
+    /**
+     * Levels, randomized DFS interval labels and DFS tree intervals.
+     */
+    private void buildLabels() {
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+
+        // Longest hop distance from any source; reachability strictly increases it
+        level = new int[components];
+        for (int i = 0; i < components; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                level[targets[e]] = Math.max(level[targets[e]], level[i] + 1);
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        low = new int[INTERVAL_LABELS][components];
+        post = new int[INTERVAL_LABELS][components];
+        treePre = new int[components];
+        int[] stack = new int[components];
+        int[] cursor = new int[components];
+        int[] start = new int[components];
+        boolean[] visited = new boolean[components];
+
+        for (int k = 0; k < INTERVAL_LABELS; k++) {
+            Arrays.fill(visited, false);
+            int[] lowK = low[k];
+            int[] postK = post[k];
+            int rank = 0;
+            int preRank = 0;
+            // Roots in random rotation of the topological order
+            int rootShift = random.nextInt(Math.max(1, components));
+            for (int r = 0; r < components; r++) {
+                int root = (r + rootShift) % components;
+                if (visited[root]) {
+                    continue;
+                }
+                int top = 0;
+                stack[top++] = root;
+                visited[root] = true;
+                if (k == 0) treePre[root] = preRank++;
+                int degree = offsets[root + 1] - offsets[root];
+                start[root] = degree == 0 ? 0 : random.nextInt(degree);
+                cursor[root] = 0;
+                lowK[root] = Integer.MAX_VALUE;
+
+                while (top > 0) {
+                    int x = stack[top - 1];
+                    int deg = offsets[x + 1] - offsets[x];
+                    if (cursor[x] < deg) {
+                        // Children in a random rotation of the adjacency list
+                        int c = targets[offsets[x] + (start[x] + cursor[x]++) % deg];
+                        if (!visited[c]) {
+                            visited[c] = true;
+                            if (k == 0) treePre[c] = preRank++;
+                            int cd = offsets[c + 1] - offsets[c];
+                            start[c] = cd == 0 ? 0 : random.nextInt(cd);
+                            cursor[c] = 0;
+                            lowK[c] = Integer.MAX_VALUE;
+                            stack[top++] = c;
+                        } else {
+                            lowK[x] = Math.min(lowK[x], lowK[c]);
+                        }
+                    } else {
+                        top--;
+                        postK[x] = rank++;
+                        lowK[x] = Math.min(lowK[x], postK[x]);
+                        if (top > 0) {
+                            int parent = stack[top - 1];
+                            lowK[parent] = Math.min(lowK[parent], lowK[x]);
+                        }
+                    }
+                }
+            }
+        }
+        scratch = ThreadLocal.withInitial(() -> new Scratch(components));
+    }
+
+    /**
+     * Checks if one vertex can reach another.
+     * @param from the start vertex
+     * @param to the destination vertex
+     * @return true if a directed path exists (every vertex reaches itself)
+     */
+    public boolean reaches(int from, int to) {
+        int a = componentOf[from];
+        int b = componentOf[to];
+        if (a == b) {
+            return true;
+        }
+        int pa = plan.getPosition(a);
+        int pb = plan.getPosition(b);
+        if (closure != null) {
+            return (closure[pa][pb >>> 6] & (1L << pb)) != 0;
+        }
+        return reachesComponent(pa, pb);
+    }
+
+    /**
+     * Checks if task A depends on task B, i.e. B must happen before A.
+     * @param a the dependent task
+     * @param b the prerequisite task
+     * @return true if B reaches A
+     */
+    public boolean dependsOn(int a, int b) {
+        return reaches(b, a);
+    }
+
+    /**
+     * Gets the SCC (condensation vertex) of an original vertex.
+     * @param vertex the vertex
+     * @return component index
+     */
+    public int getComponentOf(int vertex) {
+        return componentOf[vertex];
+    }
+
+    /**
+     * Gets the number of components in the condensation.
+     * @return component count
+     */
+    public int getComponentCount() {
+        return components;
+    }
+
+    /**
+     * Checks if the index stores the full transitive closure.
+     * @return true for the bitset closure, false for interval labels
+     */
+    public boolean usesClosure() {
+        return closure != null;
+    }
+
+    /**
+     * Gets the metrics collected while building the index.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    private boolean reachesComponent(int a, int b) {
+        if (a > b || level[a] >= level[b] || !containedInAll(a, b)) {
+            return false;
+        }
+        if (isTreeDescendant(a, b)) {
+            return true;
+        }
+
+        // Pruned DFS over the condensation
+        int[] offsets = plan.getOffsets();
+        int[] targets = plan.getTargets();
+        Scratch s = scratch.get();
+        int stamp = s.nextStamp();
+        int top = 0;
+        s.stack[top++] = a;
+        s.mark[a] = stamp;
+        while (top > 0) {
+            int x = s.stack[--top];
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                int c = targets[e];
+                if (c == b) {
+                    return true;
+                }
+                if (s.mark[c] == stamp || c > b || level[c] >= level[b] || !containedInAll(c, b)) {
+                    continue;
+                }
+                if (isTreeDescendant(c, b)) {
+                    return true;
+                }
+                s.mark[c] = stamp;
+                s.stack[top++] = c;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Necessary condition: b's interval lies inside a's in every labeling.
+     */
+    private boolean containedInAll(int a, int b) {
+        for (int k = 0; k < INTERVAL_LABELS; k++) {
+            if (low[k][b] < low[k][a] || post[k][b] > post[k][a]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sufficient condition: b lies in a's subtree of the first DFS forest.
+     */
+    private boolean isTreeDescendant(int a, int b) {
+        return treePre[a] <= treePre[b] && post[0][b] <= post[0][a];
+    }
+
+    /**
+     * Visit marks and stack for one thread's fallback searches.
+     */
+    private static final class Scratch {
+        final int[] mark;
+        final int[] stack;
+        int stamp;
+
+        Scratch(int size) {
+            this.mark = new int[size];
+            this.stack = new int[size];
+        }
+
+        int nextStamp() {
+            if (++stamp == 0) {
+                Arrays.fill(mark, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+}
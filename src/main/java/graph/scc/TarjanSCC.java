@@ -3,6 +3,9 @@ package graph.scc;
 import graph.common.Graph;
 import graph.common.Metrics;
 import graph.common.MetricsImpl;
+import graph.common.NoOpMetrics;
+import graph.jfr.CondensationEvent;
+import graph.jfr.SccEvent;
 
 import java.util.*;
 
@@ -13,12 +16,18 @@ import java.util.*;
 public class TarjanSCC {
     private final Graph graph;
     private final Metrics metrics;
+    private final boolean ownsMetrics;
+    private final int dfsVisits;
+    private final int edgesTraversed;
+    private final int stackPops;
+    private final int sccsFound;
     
     private int[] disc;      // Discovery time
     private int[] low;       // Lowest reachable vertex
     private boolean[] onStack;
     private Stack<Integer> stack;
     private List<List<Integer>> sccs;
+    private int[] componentOf;  // SCC index of each vertex
     private int time;
 
     /**
@@ -26,8 +35,28 @@ public class TarjanSCC {
      * @param graph the input directed graph
      */
     public TarjanSCC(Graph graph) {
+        this(graph, new MetricsImpl(), true);
+    }
+
+    /**
+     * Creates a Tarjan SCC detector reporting to a shared collector.
+     * The collector is never reset by this class; pass
+     * {@link NoOpMetrics#INSTANCE} to disable instrumentation.
+     * @param graph the input graph
+     * @param metrics the metrics collector
+     */
+    public TarjanSCC(Graph graph, Metrics metrics) {
+        this(graph, metrics, false);
+    }
+
+    private TarjanSCC(Graph graph, Metrics metrics, boolean ownsMetrics) {
         this.graph = graph;
-        this.metrics = new MetricsImpl();
+        this.metrics = metrics;
+        this.ownsMetrics = ownsMetrics;
+        this.dfsVisits = metrics.registerCounter("dfs_visits");
+        this.edgesTraversed = metrics.registerCounter("edges_traversed");
+        this.stackPops = metrics.registerCounter("stack_pops");
+        this.sccsFound = metrics.registerCounter("sccs_found");
     }
 
     /**
@@ -35,7 +64,22 @@ public class TarjanSCC {
      * @return list of SCCs, each represented as a list of vertices
      */
     public List<List<Integer>> findSCCs() {
-        metrics.reset();
+        metrics.startPhase("scc");
+        SccEvent event = new SccEvent();
+        event.begin();
+        try {
+            List<List<Integer>> result = runTarjan();
+            event.finish(graph, result.size());
+            return result;
+        } finally {
+            metrics.stopPhase("scc");
+        }
+    }
+
+    private List<List<Integer>> runTarjan() {
+        if (ownsMetrics) {
+            metrics.reset();
+        }
         metrics.startTimer();
         
         int n = graph.getVertexCount();
@@ -44,6 +88,7 @@ public class TarjanSCC {
         onStack = new boolean[n];
         stack = new Stack<>();
         sccs = new ArrayList<>();
+        componentOf = new int[n];
         time = 0;
         
         Arrays.fill(disc, -1);
@@ -65,7 +110,7 @@ public class TarjanSCC {
      * @param u current vertex
      */
     private void dfs(int u) {
-        metrics.incrementCounter("dfs_visits");
+        metrics.incrementCounter(dfsVisits);
         
         // Initialize discovery time and low value
         disc[u] = low[u] = time++;
@@ -75,7 +120,7 @@ public class TarjanSCC {
         // Visit all neighbors
         for (Graph.Edge edge : graph.getEdges(u)) {
             int v = edge.to;
-            metrics.incrementCounter("edges_traversed");
+            metrics.incrementCounter(edgesTraversed);
             
             if (disc[v] == -1) {
                 // Tree edge - recurse
@@ -94,12 +139,13 @@ public class TarjanSCC {
             do {
                 v = stack.pop();
                 onStack[v] = false;
+                componentOf[v] = sccs.size();
                 scc.add(v);
-                metrics.incrementCounter("stack_pops");
+                metrics.incrementCounter(stackPops);
             } while (v != u);
             
             sccs.add(scc);
-            metrics.incrementCounter("sccs_found");
+            metrics.incrementCounter(sccsFound);
         }
     }
 
@@ -112,25 +158,29 @@ public class TarjanSCC {
         if (sccs == null || sccs.isEmpty()) {
             throw new IllegalStateException("Must call findSCCs() first");
         }
-        
-        // Map each vertex to its SCC index
-        Map<Integer, Integer> vertexToSCC = new HashMap<>();
-        for (int i = 0; i < sccs.size(); i++) {
-            for (int vertex : sccs.get(i)) {
-                vertexToSCC.put(vertex, i);
-            }
+        metrics.startPhase("condensation");
+        CondensationEvent event = new CondensationEvent();
+        event.begin();
+        try {
+            Graph condensation = condense();
+            event.finish(graph, condensation);
+            return condensation;
+        } finally {
+            metrics.stopPhase("condensation");
         }
-        
+    }
+
+    private Graph condense() {
         // Create condensation graph
         Graph condensation = new Graph(sccs.size());
         Set<String> addedEdges = new HashSet<>();
         
         // Add edges between different SCCs
         for (int u = 0; u < graph.getVertexCount(); u++) {
-            int sccU = vertexToSCC.get(u);
+            int sccU = componentOf[u];
             for (Graph.Edge edge : graph.getEdges(u)) {
                 int v = edge.to;
-                int sccV = vertexToSCC.get(v);
+                int sccV = componentOf[v];
                 
                 // Only add edge if connecting different SCCs
                 if (sccU != sccV) {
@@ -174,6 +224,30 @@ public class TarjanSCC {
         return sccs;
     }
 
+    /**
+     * Gets the index of the SCC containing a vertex.
+     * This is also the vertex's node in the condensation graph.
+     * @param vertex the vertex
+     * @return SCC index
+     */
+    public int getComponentOf(int vertex) {
+        if (componentOf == null) {
+            throw new IllegalStateException("Must call findSCCs() first");
+        }
+        return componentOf[vertex];
+    }
+
+    /**
+     * Gets the SCC index of every vertex.
+     * @return array mapping vertex to SCC index
+     */
+    public int[] getComponentMapping() {
+        if (componentOf == null) {
+            throw new IllegalStateException("Must call findSCCs() first");
+        }
+        return componentOf.clone();
+    }
+
     /**
      * Prints the detected SCCs to console.
      */
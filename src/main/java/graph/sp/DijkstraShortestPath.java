@@ -0,0 +1,217 @@
+package graph.sp;
+
+import graph.common.Graph;
+import graph.common.IndexedDaryHeap;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+import graph.dagsp.DAGShortestPath.PathResult;
+
+import java.util.Arrays;
+
+/**
+ * Single-source shortest paths on general directed graphs, cycles included.
+ * Non-negative weights use Dijkstra's algorithm on a primitive indexed
+ * d-ary heap; graphs with negative weights use queue-based Bellman-Ford,
+ * which also detects negative cycles. Results have the same shape as
+ * {@link graph.dagsp.DAGShortestPath} results, so no condensation is needed
+ * to get per-vertex distances inside SCCs.
+ * Complexity: O((V + E) log_d V) for Dijkstra, O(V * E) worst case for Bellman-Ford.
+ */
+public class DijkstraShortestPath {
+    /** Default heap arity. */
+    public static final int DEFAULT_ARITY = 4;
+
+    private final Graph graph;
+    private final int arity;
+    private final Metrics metrics;
+
+    // Edges in CSR form, rebuilt when the graph version changes
+    private int builtVersion = -1;
+    private int[] offsets;
+    private int[] targets;
+    private double[] weights;
+    private boolean hasNegativeWeight;
+
+    /**
+     * Creates a solver with a 4-ary heap.
+     * @param graph the input graph
+     */
+    public DijkstraShortestPath(Graph graph) {
+        this(graph, DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a solver with the given heap arity.
+     * @param graph the input graph
+     * @param arity children per heap node (at least 2)
+     */
+    public DijkstraShortestPath(Graph graph, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.graph = graph;
+        this.arity = arity;
+        this.metrics = new MetricsImpl();
+    }
+
+    /**
+     * Computes shortest paths, choosing Dijkstra when all weights are
+     * non-negative and Bellman-Ford otherwise.
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     * @throws IllegalStateException if a negative cycle is reachable from the source
+     */
+    public PathResult shortestPath(int source) {
+        prepare();
+        return hasNegativeWeight ? bellmanFord(source) : dijkstra(source);
+    }
+
+    /**
+     * Computes shortest paths with Dijkstra's algorithm.
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public PathResult dijkstra(int source) {
+        prepare();
+        if (hasNegativeWeight) {
+            throw new IllegalArgumentException("Dijkstra requires non-negative edge weights");
+        }
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.getVertexCount();
+        double[] dist = new double[n];
+        int[] pred = new int[n];
+        boolean[] settled = new boolean[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(pred, -1);
+        dist[source] = 0;
+
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
+        heap.insertOrDecrease(source, 0);
+        long relaxations = 0;
+        long heapUpdates = 1;
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[u] = true;
+            double du = dist[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (settled[v]) {
+                    continue;
+                }
+                double newDist = du + weights[e];
+                relaxations++;
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, newDist);
+                    heapUpdates++;
+                }
+            }
+        }
+
+        metrics.incrementCounter("relaxations", relaxations);
+        metrics.incrementCounter("heap_updates", heapUpdates);
+        metrics.stopTimer();
+        return new PathResult(graph, dist, pred, source, false);
+    }
+
+    /**
+     * Computes shortest paths with queue-based Bellman-Ford (SPFA).
+     * @param source the source vertex
+     * @return PathResult containing distances and predecessors
+     * @throws IllegalStateException if a negative cycle is reachable from the source
+     */
+    public PathResult bellmanFord(int source) {
+        prepare();
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.getVertexCount();
+        double[] dist = new double[n];
+        int[] pred = new int[n];
+        int[] hops = new int[n];        // Edges on the tentative path
+        boolean[] inQueue = new boolean[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(pred, -1);
+        dist[source] = 0;
+
+        // Circular queue; each vertex is in it at most once
+        int[] queue = new int[n];
+        int head = 0;
+        int count = 1;
+        queue[0] = source;
+        inQueue[source] = true;
+        long relaxations = 0;
+
+        while (count > 0) {
+            int u = queue[head];
+            head = (head + 1) % n;
+            count--;
+            inQueue[u] = false;
+            double du = dist[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double newDist = du + weights[e];
+                relaxations++;
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    pred[v] = u;
+                    hops[v] = hops[u] + 1;
+                    // A shortest path has at most V - 1 edges; a longer one repeats a vertex
+                    if (hops[v] >= n) {
+                        metrics.stopTimer();
+                        throw new IllegalStateException("Graph contains a negative cycle");
+                    }
+                    if (!inQueue[v]) {
+                        inQueue[v] = true;
+                        queue[(head + count) % n] = v;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        metrics.incrementCounter("relaxations", relaxations);
+        metrics.stopTimer();
+        return new PathResult(graph, dist, pred, source, false);
+    }
+
+    /**
+     * Builds the CSR arrays if the graph changed since the last call.
+     */
+    private void prepare() {
+        if (builtVersion == graph.getVersion() && offsets != null) {
+            return;
+        }
+        int n = graph.getVertexCount();
+        offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getEdges(u).size();
+        }
+        targets = new int[offsets[n]];
+        weights = new double[offsets[n]];
+        hasNegativeWeight = false;
+        for (int u = 0; u < n; u++) {
+            int k = offsets[u];
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                targets[k] = edge.to;
+                weights[k] = edge.weight;
+                hasNegativeWeight |= edge.weight < 0;
+                k++;
+            }
+        }
+        builtVersion = graph.getVersion();
+    }
+
+    /**
+     * Gets the metrics collected during path computation.
+     * @return metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
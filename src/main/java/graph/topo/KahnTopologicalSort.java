@@ -3,6 +3,8 @@ package graph.topo;
 import graph.common.Graph;
 import graph.common.Metrics;
 import graph.common.MetricsImpl;
+import graph.common.NoOpMetrics;
+import graph.jfr.TopoSortEvent;
 
 import java.util.*;
 
@@ -14,14 +16,43 @@ import java.util.*;
 public class KahnTopologicalSort {
     private final Graph graph;
     private final Metrics metrics;
+    private final boolean ownsMetrics;
+    private final int inDegreeCalculations;
+    private final int queuePushes;
+    private final int queuePops;
+    private final int verticesProcessed;
+    private final int edgesProcessed;
+    private final int cycleDetected;
 
     /**
      * Creates a topological sort solver for the given graph.
      * @param graph the input DAG
      */
     public KahnTopologicalSort(Graph graph) {
+        this(graph, new MetricsImpl(), true);
+    }
+
+    /**
+     * Creates a topological sort solver reporting to a shared collector.
+     * The collector is never reset by this class; pass
+     * {@link NoOpMetrics#INSTANCE} to disable instrumentation.
+     * @param graph the input DAG
+     * @param metrics the metrics collector
+     */
+    public KahnTopologicalSort(Graph graph, Metrics metrics) {
+        this(graph, metrics, false);
+    }
+
+    private KahnTopologicalSort(Graph graph, Metrics metrics, boolean ownsMetrics) {
         this.graph = graph;
-        this.metrics = new MetricsImpl();
+        this.metrics = metrics;
+        this.ownsMetrics = ownsMetrics;
+        this.inDegreeCalculations = metrics.registerCounter("in_degree_calculations");
+        this.queuePushes = metrics.registerCounter("queue_pushes");
+        this.queuePops = metrics.registerCounter("queue_pops");
+        this.verticesProcessed = metrics.registerCounter("vertices_processed");
+        this.edgesProcessed = metrics.registerCounter("edges_processed");
+        this.cycleDetected = metrics.registerCounter("cycle_detected");
     }
 
     /**
@@ -29,7 +60,22 @@ public class KahnTopologicalSort {
      * @return list of vertices in topological order, or empty if graph has cycle
      */
     public List<Integer> sort() {
-        metrics.reset();
+        metrics.startPhase("topo");
+        TopoSortEvent event = new TopoSortEvent();
+        event.begin();
+        try {
+            List<Integer> order = runKahn();
+            event.finish(graph, order.size() == graph.getVertexCount());
+            return order;
+        } finally {
+            metrics.stopPhase("topo");
+        }
+    }
+
+    private List<Integer> runKahn() {
+        if (ownsMetrics) {
+            metrics.reset();
+        }
         metrics.startTimer();
         
         int n = graph.getVertexCount();
@@ -39,7 +85,7 @@ public class KahnTopologicalSort {
         for (int u = 0; u < n; u++) {
             for (Graph.Edge edge : graph.getEdges(u)) {
                 inDegree[edge.to]++;
-                metrics.incrementCounter("in_degree_calculations");
+                metrics.incrementCounter(inDegreeCalculations);
             }
         }
         
@@ -48,7 +94,7 @@ public class KahnTopologicalSort {
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
                 queue.offer(i);
-                metrics.incrementCounter("queue_pushes");
+                metrics.incrementCounter(queuePushes);
             }
         }
         
@@ -58,18 +104,18 @@ public class KahnTopologicalSort {
         while (!queue.isEmpty()) {
             int u = queue.poll();
             topoOrder.add(u);
-            metrics.incrementCounter("queue_pops");
-            metrics.incrementCounter("vertices_processed");
+            metrics.incrementCounter(queuePops);
+            metrics.incrementCounter(verticesProcessed);
             
             // Reduce in-degree of neighbors
             for (Graph.Edge edge : graph.getEdges(u)) {
                 int v = edge.to;
                 inDegree[v]--;
-                metrics.incrementCounter("edges_processed");
+                metrics.incrementCounter(edgesProcessed);
                 
                 if (inDegree[v] == 0) {
                     queue.offer(v);
-                    metrics.incrementCounter("queue_pushes");
+                    metrics.incrementCounter(queuePushes);
                 }
             }
         }
@@ -78,7 +124,7 @@ public class KahnTopologicalSort {
         
         // Check if all vertices were processed (cycle detection)
         if (topoOrder.size() != n) {
-            metrics.incrementCounter("cycle_detected");
+            metrics.incrementCounter(cycleDetected);
             return Collections.emptyList(); // Graph has a cycle
         }
         
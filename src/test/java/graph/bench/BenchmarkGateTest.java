@@ -0,0 +1,148 @@
+package graph.bench;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BenchmarkGate.
+ */
+class BenchmarkGateTest {
+
+    private static Map<String, Map<String, BenchmarkGate.Metric>> run(double[] scores, double[] allocs) {
+        Map<String, BenchmarkGate.Metric> metrics = new LinkedHashMap<>();
+        metrics.put(BenchmarkGate.THROUGHPUT, new BenchmarkGate.Metric("ops/s", true, scores));
+        if (allocs != null) {
+            metrics.put(BenchmarkGate.MEMORY, new BenchmarkGate.Metric("B/op", false, allocs));
+        }
+        Map<String, Map<String, BenchmarkGate.Metric>> results = new TreeMap<>();
+        results.put("bench.sort", metrics);
+        return results;
+    }
+
+    private static BenchmarkGate.Report compare(Map<String, Map<String, BenchmarkGate.Metric>> baseline,
+                                                Map<String, Map<String, BenchmarkGate.Metric>> current) {
+        return BenchmarkGate.compare(baseline, current, 0.05, 0.05, false);
+    }
+
+    @Test
+    @DisplayName("Test clear throughput and allocation regressions fail")
+    void testRegression() {
+        BenchmarkGate.Report report = compare(run(new double[]{500, 510, 505, 495}, new double[]{1000, 1000}),
+                                              run(new double[]{400, 405, 398, 402}, new double[]{1300, 1300}));
+        assertFalse(report.passed);
+        assertEquals(2, report.regressions);
+        assertTrue(report.text.contains("REGRESSION"));
+        assertTrue(report.text.contains("-20.1%"));
+    }
+
+    @Test
+    @DisplayName("Test large but noisy differences pass")
+    void testNoise() {
+        BenchmarkGate.Report report = compare(run(new double[]{387, 689, 555}, null),
+                                              run(new double[]{271, 482, 389}, null));
+        assertTrue(report.passed);
+        assertTrue(report.text.contains("noise"));
+    }
+
+    @Test
+    @DisplayName("Test improvements and changes within tolerance pass")
+    void testImprovement() {
+        BenchmarkGate.Report report = compare(run(new double[]{500, 510, 505, 495}, new double[]{1000, 1000}),
+                                              run(new double[]{600, 605, 598, 602}, new double[]{1020, 1020}));
+        assertTrue(report.passed);
+        assertTrue(report.text.contains("improved"));
+        assertTrue(report.text.contains("ok"));
+    }
+
+    @Test
+    @DisplayName("Test missing benchmarks and metrics fail unless allowed")
+    void testMissing() {
+        Map<String, Map<String, BenchmarkGate.Metric>> baseline = run(new double[]{500}, new double[]{1000});
+        BenchmarkGate.Report report = compare(baseline, new TreeMap<>());
+        assertFalse(report.passed);
+        assertEquals(1, report.missing);
+        assertTrue(report.text.contains("MISSING"));
+
+        // Run without -prof gc: the memory metric is gone
+        report = compare(baseline, run(new double[]{500}, null));
+        assertFalse(report.passed);
+        assertEquals(1, report.missing);
+
+        assertTrue(BenchmarkGate.compare(baseline, new TreeMap<>(), 0.05, 0.05, true).passed);
+    }
+
+    @Test
+    @DisplayName("Test allocations growing from zero are regressions")
+    void testZeroBaseline() {
+        assertEquals(Double.POSITIVE_INFINITY, BenchmarkGate.relativeChange(0, 64));
+        assertEquals(0, BenchmarkGate.relativeChange(0, 0));
+
+        BenchmarkGate.Report report = compare(run(new double[]{500}, new double[]{0, 0}),
+                                              run(new double[]{500}, new double[]{64, 64}));
+        assertFalse(report.passed);
+        assertTrue(report.text.contains("+inf%"));
+
+        // Rounding noise of allocation-free benchmarks
+        report = compare(run(new double[]{500}, new double[]{0, 0}),
+                         run(new double[]{500}, new double[]{0.001, 0.002}));
+        assertTrue(report.passed);
+    }
+
+    @Test
+    @DisplayName("Test Welch t-test and t quantiles")
+    void testSignificance() {
+        assertEquals(31.821, BenchmarkGate.criticalT(1), 1e-9);
+        assertEquals(2.764, BenchmarkGate.criticalT(11), 1e-9);
+        assertEquals(2.326, BenchmarkGate.criticalT(1000), 1e-9);
+
+        BenchmarkGate.Metric tight = new BenchmarkGate.Metric("ops/s", true, new double[]{100, 101, 99, 100});
+        BenchmarkGate.Metric shifted = new BenchmarkGate.Metric("ops/s", true, new double[]{90, 91, 89, 90});
+        BenchmarkGate.Metric wide = new BenchmarkGate.Metric("ops/s", true, new double[]{60, 120, 90, 80});
+        assertTrue(BenchmarkGate.isSignificant(tight, shifted));
+        assertFalse(BenchmarkGate.isSignificant(tight, wide));
+        // A single sample has no variance estimate
+        assertTrue(BenchmarkGate.isSignificant(tight, new BenchmarkGate.Metric("ops/s", true, new double[]{99})));
+    }
+
+    @Test
+    @DisplayName("Test reading JMH JSON and scalability CSV results")
+    void testReaders(@TempDir Path dir) throws IOException {
+        Path json = dir.resolve("jmh.json");
+        Files.writeString(json, "[{\"benchmark\": \"graph.bench.TopoSortBenchmark.sort\", \"mode\": \"thrpt\","
+            + " \"params\": {\"vertices\": \"100\", \"density\": \"0.05\"},"
+            + " \"primaryMetric\": {\"score\": 10.0, \"scoreUnit\": \"ops/s\", \"rawData\": [[9.0, 11.0], [10.0]]},"
+            + " \"secondaryMetrics\": {\"gc.alloc.rate.norm\": {\"score\": 64.0, \"scoreUnit\": \"B/op\"}}}]");
+        Map<String, Map<String, BenchmarkGate.Metric>> jmh = BenchmarkGate.readResults(json);
+        Map<String, BenchmarkGate.Metric> sort = jmh.get("graph.bench.TopoSortBenchmark.sort[density=0.05,vertices=100]");
+        assertNotNull(sort);
+        assertArrayEquals(new double[]{9, 11, 10}, sort.get(BenchmarkGate.THROUGHPUT).values);
+        assertTrue(sort.get(BenchmarkGate.THROUGHPUT).higherIsBetter);
+        assertArrayEquals(new double[]{64}, sort.get(BenchmarkGate.MEMORY).values);
+
+        Path csv = dir.resolve("scalability.csv");
+        Files.writeString(csv, "shape,vertices,edges,stage,stage_edges,runs,median_ms,min_ms,edges_per_sec,"
+            + "peak_heap_mb,gc_ms\ndag,250,1000,scc,1000,3,0.1,0.1,10000000,5.5,0.0\n");
+        Map<String, BenchmarkGate.Metric> scc = BenchmarkGate.readResults(csv).get("scalability.dag[edges=1000].scc");
+        assertEquals(10_000_000, scc.get(BenchmarkGate.THROUGHPUT).mean(), 1e-9);
+        assertEquals(5.5, scc.get(BenchmarkGate.MEMORY).mean(), 1e-9);
+
+        // Baselines round-trip
+        Path baseline = dir.resolve("baseline.json");
+        BenchmarkGate.writeBaseline(baseline, jmh);
+        assertTrue(compare(BenchmarkGate.readBaseline(baseline), jmh).passed);
+
+        Path bad = dir.resolve("other.csv");
+        Files.writeString(bad, "a,b\n1,2\n");
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkGate.readResults(bad));
+    }
+}
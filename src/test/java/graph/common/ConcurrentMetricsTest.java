@@ -0,0 +1,68 @@
+package graph.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConcurrentMetrics.
+ */
+class ConcurrentMetricsTest {
+
+    @Test
+    @DisplayName("Test concurrent increments are not lost")
+    void testConcurrentIncrements() {
+        ConcurrentMetrics metrics = new ConcurrentMetrics();
+        int edges = metrics.registerCounter("edges");
+
+        IntStream.range(0, 64).parallel().forEach(t -> {
+            // Registration races must still agree on one handle
+            int handle = metrics.registerCounter("counter" + (t % 4));
+            for (int i = 0; i < 10_000; i++) {
+                metrics.incrementCounter(edges);
+                metrics.incrementCounter(handle);
+            }
+            metrics.incrementCounter("tasks");
+        });
+
+        assertEquals(640_000, metrics.getCounter("edges"));
+        assertEquals(160_000, metrics.getCounter("counter3"));
+        assertEquals(64, metrics.getCounter("tasks"));
+
+        metrics.registerCounter("unused");
+        metrics.incrementCounter("relaxations", 0);
+        assertTrue(metrics.getMetricsReport().contains("relaxations: 0"));
+        assertFalse(metrics.getMetricsReport().contains("unused:"));
+    }
+
+    @Test
+    @DisplayName("Test timers are per thread and summed in the total")
+    void testPerThreadTimers() throws InterruptedException {
+        ConcurrentMetrics metrics = new ConcurrentMetrics();
+        metrics.startTimer();
+
+        Thread other = new Thread(() -> {
+            metrics.startTimer();
+            long start = System.nanoTime();
+            while (System.nanoTime() == start) {
+                Thread.onSpinWait();
+            }
+            metrics.stopTimer();
+        });
+        other.start();
+        other.join();
+
+        // The other thread's stop does not end this thread's measurement
+        assertTrue(metrics.getTotalTimeNanos() > 0);
+        long before = metrics.getElapsedTimeNanos();
+        metrics.stopTimer();
+        assertTrue(metrics.getElapsedTimeNanos() >= before);
+
+        metrics.reset();
+        assertEquals(0, metrics.getTotalTimeNanos());
+        assertEquals(0, metrics.getCounter("edges"));
+    }
+}
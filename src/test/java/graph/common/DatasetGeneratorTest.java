@@ -0,0 +1,51 @@
+package graph.common;
+
+import graph.topo.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DatasetGenerator.
+ */
+class DatasetGeneratorTest {
+
+    @Test
+    @DisplayName("Test seeded generators are reproducible")
+    void testSeededGenerators() {
+        Graph first = DatasetGenerator.generateDAG(30, 0.2, new Random(7));
+        Graph second = DatasetGenerator.generateDAG(30, 0.2, new Random(7));
+        assertEquals(first.toString(), second.toString());
+
+        Graph sccs = DatasetGenerator.generateGraphWithSCCs(20, 4, 5, new Random(7));
+        assertEquals(sccs.toString(), DatasetGenerator.generateGraphWithSCCs(20, 4, 5, new Random(7)).toString());
+    }
+
+    @Test
+    @DisplayName("Test random graph has exact edge count")
+    void testRandomGraph() {
+        Graph cyclic = DatasetGenerator.generateRandomGraph(50, 400, false, new Random(1));
+        assertEquals(50, cyclic.getVertexCount());
+        assertEquals(400, cyclic.getEdgeCount());
+        for (int v = 0; v < 50; v++) {
+            assertFalse(cyclic.hasEdge(v, v), "Self-loop at " + v);
+        }
+
+        Graph dag = DatasetGenerator.generateRandomGraph(50, 400, true, new Random(1));
+        assertEquals(400, dag.getEdgeCount());
+        KahnTopologicalSort topoSort = new KahnTopologicalSort(dag, NoOpMetrics.INSTANCE);
+        topoSort.sort();
+        assertTrue(topoSort.isDAG());
+    }
+
+    @Test
+    @DisplayName("Test random graph rejects edges without two vertices")
+    void testRandomGraphTooFewVertices() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> DatasetGenerator.generateRandomGraph(1, 1, false, new Random(1)));
+        assertEquals(0, DatasetGenerator.generateRandomGraph(1, 0, false, new Random(1)).getEdgeCount());
+    }
+}
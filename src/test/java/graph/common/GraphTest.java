@@ -115,4 +115,18 @@ class GraphTest {
         Graph.Edge edge = graph.getEdges(0).get(0);
         assertEquals(1.0, edge.weight, 0.001);
     }
+
+    @Test
+    @DisplayName("Test version changes when edges are added")
+    void testVersion() {
+        Graph graph = new Graph(3);
+        int initial = graph.getVersion();
+        
+        graph.addEdge(0, 1);
+        assertNotEquals(initial, graph.getVersion());
+        
+        int afterEdge = graph.getVersion();
+        graph.setNodeLabel(0, "A");
+        assertEquals(afterEdge, graph.getVersion());
+    }
 }
@@ -0,0 +1,53 @@
+package graph.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Test percentiles are within one bucket of the exact values")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMax());
+        assertEquals(50_000_500.0, histogram.getMean(), 1e-6);
+        assertWithinBucket(50_000_000L, histogram.getPercentile(50));
+        assertWithinBucket(99_000_000L, histogram.getPercentile(99));
+        assertWithinBucket(99_900_000L, histogram.getPercentile(99.9));
+        assertEquals(100_000_000L, histogram.getPercentile(100));
+    }
+
+    private void assertWithinBucket(long exact, long reported) {
+        assertTrue(reported >= exact && reported <= exact * 1.125,
+                   "reported " + reported + " for exact " + exact);
+    }
+
+    @Test
+    @DisplayName("Test small values are exact and clear empties the histogram")
+    void testSmallValuesAndClear() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+        histogram.record(3);
+        histogram.record(5);
+        histogram.record(-1);
+
+        assertEquals(0, histogram.getPercentile(30));
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(5, histogram.getPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+
+        histogram.clear();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,70 @@
+package graph.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MemoryFootprint.
+ */
+class MemoryFootprintTest {
+
+    @Test
+    @DisplayName("Test graph footprint grows with edges and labels")
+    void testGraphFootprint() {
+        Graph graph = new Graph(4);
+        MemoryFootprint.GraphFootprint empty = MemoryFootprint.of(graph);
+        assertEquals(0, empty.getEdgeBytes());
+
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        MemoryFootprint.GraphFootprint withEdges = MemoryFootprint.of(graph);
+        // 24-byte Edge objects
+        assertEquals(72, withEdges.getEdgeBytes());
+        assertTrue(withEdges.getAdjacencyBytes() > empty.getAdjacencyBytes());
+        assertEquals(empty.getLabelBytes(), withEdges.getLabelBytes());
+
+        graph.setNodeLabel(0, "Task A");
+        MemoryFootprint.GraphFootprint withLabels = MemoryFootprint.of(graph);
+        assertTrue(withLabels.getLabelBytes() > withEdges.getLabelBytes());
+        assertEquals(withLabels.getAdjacencyBytes() + withLabels.getEdgeBytes() + withLabels.getLabelBytes(),
+                     withLabels.getTotalBytes());
+        // CSR: offsets (5 ints), targets (3 ints), weights (3 doubles)
+        assertEquals(40 + 32 + 40, withLabels.getCsrBytes());
+        assertTrue(withLabels.getCsrBytes() < withLabels.getTotalBytes());
+    }
+
+    @Test
+    @DisplayName("Test object, array and SCC footprints")
+    void testResultFootprints() {
+        // 12-byte header, 3 references and 5 bytes of fields, aligned to 8
+        assertEquals(32, MemoryFootprint.objectBytes(3, 5));
+        assertEquals(816, MemoryFootprint.arrayBytes(100, 8));
+        assertEquals(16, MemoryFootprint.arrayBytes(0, 4));
+
+        long small = MemoryFootprint.ofComponents(List.of(List.of(1, 2)));
+        long boxed = MemoryFootprint.ofComponents(List.of(List.of(1000, 2000)));
+        assertEquals(small + 32, boxed);
+    }
+
+    @Test
+    @DisplayName("Test phases record allocated bytes")
+    void testPhaseAllocations() {
+        Metrics metrics = new MetricsImpl();
+        metrics.startPhase("alloc");
+        long[] block = new long[100_000];
+        metrics.stopPhase("alloc");
+        assertEquals(100_000, block.length);
+
+        long allocated = metrics.getPhaseAllocatedBytes("alloc");
+        if (allocated >= 0) {
+            assertTrue(allocated >= 800_000, "allocated " + allocated);
+            assertTrue(metrics.getMetricsReport().contains("B/run"));
+        }
+        assertEquals(allocated < 0 ? -1 : 0, metrics.getPhaseAllocatedBytes("unknown"));
+    }
+}
@@ -0,0 +1,124 @@
+package graph.common;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsExporter.
+ */
+class MetricsExporterTest {
+
+    private Metrics createMetrics() {
+        Metrics metrics = new MetricsImpl();
+        metrics.incrementCounter("dfs_visits", 42);
+        metrics.startPhase("scc");
+        metrics.stopPhase("scc");
+        metrics.startPhase("scc");
+        metrics.stopPhase("scc");
+        return metrics;
+    }
+
+    @Test
+    @DisplayName("Test Prometheus text format")
+    void testPrometheus() {
+        MetricsExporter exporter = new MetricsExporter().register("tarjan", createMetrics());
+        String text = exporter.toPrometheus();
+
+        assertTrue(text.contains("# TYPE graph_dfs_visits gauge\n"));
+        assertTrue(text.contains("graph_dfs_visits{source=\"tarjan\"} 42\n"));
+        assertTrue(text.contains("# TYPE graph_phase_latency_seconds summary\n"));
+        assertTrue(text.contains("graph_phase_latency_seconds{source=\"tarjan\",phase=\"scc\",quantile=\"0.99\"} "));
+        assertTrue(text.contains("graph_phase_latency_seconds_count{source=\"tarjan\",phase=\"scc\"} 2\n"));
+        // One TYPE line per family even with several sources
+        exporter.register("other", createMetrics());
+        String both = exporter.toPrometheus();
+        assertEquals(both.indexOf("# TYPE graph_dfs_visits"), both.lastIndexOf("# TYPE graph_dfs_visits"));
+    }
+
+    @Test
+    @DisplayName("Test concurrent collectors export the time of all threads")
+    void testConcurrentElapsed() throws InterruptedException {
+        ConcurrentMetrics metrics = new ConcurrentMetrics();
+        Thread worker = new Thread(() -> {
+            metrics.startTimer();
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < 1_000_000) {
+                Thread.onSpinWait();
+            }
+            metrics.stopTimer();
+        });
+        worker.start();
+        worker.join();
+
+        MetricsExporter exporter = new MetricsExporter().register("pool", metrics);
+        JsonObject json = JsonParser.parseString(exporter.toJson()).getAsJsonObject();
+        assertTrue(json.getAsJsonObject("pool").get("elapsedNanos").getAsLong() >= 1_000_000);
+        assertFalse(exporter.toPrometheus().contains("graph_elapsed_seconds{source=\"pool\"} 0.000000000"));
+    }
+
+    @Test
+    @DisplayName("Test JSON format")
+    void testJson() {
+        MetricsExporter exporter = new MetricsExporter().register("tarjan", createMetrics());
+        JsonObject json = JsonParser.parseString(exporter.toJson()).getAsJsonObject();
+        JsonObject source = json.getAsJsonObject("tarjan");
+
+        assertEquals(42, source.getAsJsonObject("counters").get("dfs_visits").getAsLong());
+        assertEquals(2, source.getAsJsonObject("phases").getAsJsonObject("scc").get("count").getAsLong());
+    }
+
+    @Test
+    @DisplayName("Test HTTP endpoint serves both formats")
+    void testHttpEndpoint() throws IOException {
+        try (MetricsExporter exporter = new MetricsExporter().register("tarjan", createMetrics())) {
+            int port = exporter.startServer(0);
+            assertTrue(port > 0);
+
+            String text = fetch("http://127.0.0.1:" + port + "/metrics");
+            assertTrue(text.contains("graph_dfs_visits{source=\"tarjan\"} 42"));
+            String json = fetch("http://127.0.0.1:" + port + "/metrics.json");
+            assertTrue(json.contains("\"dfs_visits\": 42"));
+        }
+    }
+
+    private String fetch(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(200, connection.getResponseCode());
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("Test file export")
+    void testFileExport(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("metrics.prom");
+        try (MetricsExporter exporter = new MetricsExporter().register("tarjan", createMetrics())) {
+            exporter.writeTo(file, MetricsExporter.Format.PROMETHEUS);
+            assertTrue(Files.readString(file).contains("graph_dfs_visits"));
+
+            Path periodic = dir.resolve("metrics.json");
+            exporter.startFileExport(periodic, MetricsExporter.Format.JSON, 20);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!Files.exists(periodic) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.exists(periodic));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package graph.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsImpl.
+ */
+class MetricsImplTest {
+
+    @Test
+    @DisplayName("Test counter handles and names share the same values")
+    void testHandles() {
+        Metrics metrics = new MetricsImpl();
+        int visits = metrics.registerCounter("visits");
+        assertEquals(visits, metrics.registerCounter("visits"));
+        assertNotEquals(visits, metrics.registerCounter("edges"));
+
+        metrics.incrementCounter(visits);
+        metrics.incrementCounter(visits, 4);
+        metrics.incrementCounter("visits");
+        assertEquals(6, metrics.getCounter("visits"));
+        assertEquals(0, metrics.getCounter("edges"));
+        assertEquals(0, metrics.getCounter("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test reset clears values but keeps handles valid")
+    void testResetKeepsHandles() {
+        Metrics metrics = new MetricsImpl();
+        for (int i = 0; i < 40; i++) {
+            metrics.registerCounter("counter" + i);
+        }
+        int last = metrics.registerCounter("counter39");
+        metrics.incrementCounter(last, 7);
+        metrics.reset();
+        assertEquals(0, metrics.getCounter("counter39"));
+
+        metrics.incrementCounter(last);
+        assertEquals(1, metrics.getCounter("counter39"));
+        assertTrue(metrics.getMetricsReport().contains("counter39: 1"));
+        assertFalse(metrics.getMetricsReport().contains("counter0:"));
+
+        // Counters incremented by zero are reported
+        metrics.incrementCounter("relaxations", 0);
+        assertTrue(metrics.getMetricsReport().contains("relaxations: 0"));
+    }
+
+    @Test
+    @DisplayName("Test nested phases record one histogram per name across resets")
+    void testPhases() {
+        Metrics metrics = new MetricsImpl();
+        for (int run = 0; run < 3; run++) {
+            metrics.reset();
+            metrics.startPhase("pipeline");
+            metrics.startPhase("scc");
+            metrics.stopPhase("scc");
+            metrics.stopPhase("pipeline");
+        }
+
+        assertEquals(3, metrics.getPhaseHistogram("scc").getCount());
+        assertEquals(3, metrics.getPhaseHistogram("pipeline").getCount());
+        assertTrue(metrics.getPhaseHistogram("pipeline").getMax() >= metrics.getPhaseHistogram("scc").getMax());
+        assertNull(metrics.getPhaseHistogram("topo"));
+        assertTrue(metrics.getMetricsReport().contains("scc: count=3"));
+
+        metrics.startPhase("outer");
+        metrics.startPhase("inner");
+        assertThrows(IllegalStateException.class, () -> metrics.stopPhase("outer"));
+
+        metrics.clearPhases();
+        assertNull(metrics.getPhaseHistogram("scc"));
+    }
+}
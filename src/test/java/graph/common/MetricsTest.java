@@ -0,0 +1,107 @@
+package graph.common;
+
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the default methods of Metrics.
+ */
+class MetricsTest {
+
+    /** An implementation written against the original interface. */
+    private static class NamedCounterMetrics implements Metrics {
+        private final Map<String, Long> counters = new HashMap<>();
+
+        @Override
+        public void reset() {
+            counters.clear();
+        }
+
+        @Override
+        public void startTimer() {
+        }
+
+        @Override
+        public void stopTimer() {
+        }
+
+        @Override
+        public long getElapsedTimeNanos() {
+            return 0;
+        }
+
+        @Override
+        public double getElapsedTimeMillis() {
+            return 0;
+        }
+
+        @Override
+        public void incrementCounter(String counterName) {
+            incrementCounter(counterName, 1);
+        }
+
+        @Override
+        public void incrementCounter(String counterName, long amount) {
+            counters.merge(counterName, amount, Long::sum);
+        }
+
+        @Override
+        public long getCounter(String counterName) {
+            return counters.getOrDefault(counterName, 0L);
+        }
+
+        @Override
+        public void printMetrics() {
+        }
+
+        @Override
+        public String getMetricsReport() {
+            return counters.toString();
+        }
+    }
+
+    @Test
+    @DisplayName("Test handles fall back to named counters")
+    void testHandleDefaults() {
+        Metrics metrics = new NamedCounterMetrics();
+        int edges = metrics.registerCounter("edges");
+        assertEquals(edges, metrics.registerCounter("edges"));
+        assertNotEquals(edges, metrics.registerCounter("vertices"));
+
+        metrics.incrementCounter(edges);
+        metrics.incrementCounter(edges, 4);
+        assertEquals(5, metrics.getCounter("edges"));
+    }
+
+    @Test
+    @DisplayName("Test phases are not recorded by default")
+    void testPhaseDefaults() {
+        Metrics metrics = new NamedCounterMetrics();
+        metrics.startPhase("scc");
+        metrics.stopPhase("scc");
+        assertNull(metrics.getPhaseHistogram("scc"));
+        assertTrue(metrics.getPhaseHistograms().isEmpty());
+        assertEquals(-1, metrics.getPhaseAllocatedBytes("scc"));
+        assertTrue(metrics.getCounters().isEmpty());
+        metrics.clearPhases();
+    }
+
+    @Test
+    @DisplayName("Test algorithms run with an implementation of the original interface")
+    void testAlgorithmWithDefaults() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 0, 1.0);
+
+        Metrics metrics = new NamedCounterMetrics();
+        new TarjanSCC(graph, metrics).findSCCs();
+        assertEquals(3, metrics.getCounter("dfs_visits"));
+    }
+}
@@ -0,0 +1,46 @@
+package graph.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SamplingMetrics and NoOpMetrics.
+ */
+class SamplingMetricsTest {
+
+    @Test
+    @DisplayName("Test every Nth increment is forwarded with scaling")
+    void testSampling() {
+        MetricsImpl delegate = new MetricsImpl();
+        SamplingMetrics metrics = new SamplingMetrics(delegate, 10);
+        int edges = metrics.registerCounter("edges");
+
+        for (int i = 0; i < 95; i++) {
+            metrics.incrementCounter(edges);
+        }
+        metrics.incrementCounter(edges, 5);
+        metrics.incrementCounter("components");
+
+        assertEquals(95, metrics.getCounter("edges"));
+        assertEquals(95, delegate.getCounter("edges"));
+        assertEquals(1, metrics.getCounter("components"));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingMetrics(delegate, 0));
+    }
+
+    @Test
+    @DisplayName("Test no-op metrics record nothing")
+    void testNoOp() {
+        Metrics metrics = NoOpMetrics.INSTANCE;
+        int handle = metrics.registerCounter("edges");
+        metrics.startTimer();
+        metrics.incrementCounter(handle);
+        metrics.incrementCounter("edges", 10);
+        metrics.stopTimer();
+
+        assertEquals(0, metrics.getCounter("edges"));
+        assertEquals(0, metrics.getElapsedTimeNanos());
+        assertEquals(-1, metrics.getPhaseAllocatedBytes("scc"));
+    }
+}
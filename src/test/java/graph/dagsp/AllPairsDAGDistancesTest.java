@@ -0,0 +1,83 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AllPairsDAGDistances.
+ */
+class AllPairsDAGDistancesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Graph randomDAG(int n, double density, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (random.nextDouble() < density) {
+                    graph.addEdge(i, j, 1 + random.nextInt(9));
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Test all-pairs shortest distances match single-source queries")
+    void testShortestMatchesSingleSource() throws IOException {
+        Graph graph = randomDAG(90, 0.06, 3);
+        AllPairsDAGDistances engine = new AllPairsDAGDistances(graph, false);
+
+        try (AllPairsDAGDistances.Table table = engine.compute(tempDir.resolve("shortest.bin"))) {
+            assertEquals(90, table.getVertexCount());
+            assertFalse(table.isLongest());
+            DAGShortestPath dagSP = new DAGShortestPath(graph);
+            for (int s = 0; s < 90; s++) {
+                assertArrayEquals(dagSP.shortestPath(s).getDistances(), table.getRow(s));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test small memory budget and float precision")
+    void testLongestWithTightBudget() throws IOException {
+        Graph graph = randomDAG(70, 0.1, 5);
+        // Room for roughly three lanes on two workers
+        AllPairsDAGDistances engine = new AllPairsDAGDistances(
+                graph, true, AllPairsDAGDistances.Precision.FLOAT, 70 * 9 * 6, 2);
+
+        try (AllPairsDAGDistances.Table table = engine.compute(tempDir.resolve("longest.bin"))) {
+            assertTrue(table.isLongest());
+            DAGShortestPath dagSP = new DAGShortestPath(graph);
+            for (int s = 0; s < 70; s++) {
+                double[] expected = dagSP.longestPath(s).getDistances();
+                for (int t = 0; t < 70; t++) {
+                    assertEquals((float) expected[t], table.getDistance(s, t));
+                }
+            }
+        }
+        assertTrue(engine.getMetrics().getCounter("blocks") > 1);
+        // Each mapping covers several blocks
+        assertTrue(engine.getMetrics().getCounter("mapped_regions")
+                   < engine.getMetrics().getCounter("blocks"));
+    }
+
+    @Test
+    @DisplayName("Test budget too small for a single lane")
+    void testBudgetTooSmall() {
+        Graph graph = randomDAG(50, 0.1, 1);
+        AllPairsDAGDistances engine = new AllPairsDAGDistances(
+                graph, false, AllPairsDAGDistances.Precision.DOUBLE, 16, 1);
+        assertThrows(IllegalArgumentException.class, () -> engine.compute(tempDir.resolve("x.bin")));
+    }
+}
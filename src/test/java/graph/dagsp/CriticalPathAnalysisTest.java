@@ -0,0 +1,101 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CriticalPathAnalysis.
+ */
+class CriticalPathAnalysisTest {
+
+    @Test
+    @DisplayName("Test earliest/latest starts and floats")
+    void testTimesAndFloats() {
+        // 0 -> 1 -> 3 is critical (5 + 1), 0 -> 2 -> 3 has 2 units of slack
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 2.0);
+        graph.addEdge(2, 4, 1.0);
+
+        CriticalPathAnalysis.Result result = new CriticalPathAnalysis(graph).analyze();
+
+        assertEquals(6.0, result.getProjectDuration(), 0.001);
+        assertArrayEquals(new double[]{0, 5, 2, 6, 3}, result.getEarliestStart(), 0.001);
+        assertArrayEquals(new double[]{0, 5, 4, 6, 6}, result.getLatestStart(), 0.001);
+        assertArrayEquals(new double[]{0, 0, 2, 0, 3}, result.getTotalFloat(), 0.001);
+        // Task 2 cannot slip without delaying task 4
+        assertArrayEquals(new double[]{0, 0, 0, 0, 3}, result.getFreeFloat(), 0.001);
+
+        assertTrue(result.isCritical(0));
+        assertTrue(result.isCritical(1));
+        assertFalse(result.isCritical(2));
+        assertTrue(result.isCritical(3));
+    }
+
+    @Test
+    @DisplayName("Test free float is bounded by total float")
+    void testFreeFloatSharedSlack() {
+        // Chain 0 -> 1 -> 2 runs parallel to the long edge 0 -> 2
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(0, 2, 5.0);
+
+        CriticalPathAnalysis.Result result = new CriticalPathAnalysis(graph).analyze();
+
+        assertEquals(3.0, result.getTotalFloat()[1], 0.001);
+        assertEquals(3.0, result.getFreeFloat()[1], 0.001);
+        assertEquals(0.0, result.getFreeFloat()[0], 0.001);
+    }
+
+    @Test
+    @DisplayName("Test duration matches global critical path")
+    void testDurationMatchesCriticalPath() {
+        Graph graph = new Graph(6);
+        graph.addEdge(0, 2, 3.0);
+        graph.addEdge(1, 2, 7.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(3, 5, 2.0);
+        graph.addEdge(4, 5, 1.0);
+
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        TopologicalPlan plan = dagSP.prepare();
+        CriticalPathAnalysis.Result result = new CriticalPathAnalysis(graph, plan).analyze();
+
+        DAGShortestPath.PathResult critical = dagSP.findCriticalPath();
+        double expected = 0;
+        for (double d : critical.getDistances()) {
+            expected = Math.max(expected, d);
+        }
+        assertEquals(expected, result.getProjectDuration(), 0.001);
+        assertTrue(result.isCritical(1));
+        assertFalse(result.isCritical(0));
+    }
+
+    @Test
+    @DisplayName("Test analysis sees edges added after the first run")
+    void testGraphChangedBetweenRuns() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 2.0);
+
+        CriticalPathAnalysis cpa = new CriticalPathAnalysis(graph);
+        assertEquals(2.0, cpa.analyze().getProjectDuration(), 0.001);
+
+        graph.addEdge(1, 2, 3.0);
+        CriticalPathAnalysis.Result result = cpa.analyze();
+        assertEquals(5.0, result.getProjectDuration(), 0.001);
+        assertEquals(5.0, result.getEarliestStart()[2], 0.001);
+
+        // A plan prepared before the change is rebuilt as well
+        TopologicalPlan stale = new DAGShortestPath(graph).prepare();
+        graph.addEdge(0, 2, 7.0);
+        result = new CriticalPathAnalysis(graph, stale).analyze();
+        assertEquals(7.0, result.getProjectDuration(), 0.001);
+        assertEquals(2.0, result.getTotalFloat()[1], 0.001);
+    }
+}
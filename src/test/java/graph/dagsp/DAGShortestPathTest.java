@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -189,4 +190,307 @@ class DAGShortestPathTest {
         // Longest to 3: 0->2->3 = 5+9 = 14
         assertEquals(14.0, result.getDistance(3), 0.001);
     }
+
+    @Test
+    @DisplayName("Test critical path over all sources")
+    void testFindCriticalPath() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(2, 3, 4.0);
+        graph.addEdge(3, 4, 3.0);
+        graph.addEdge(1, 3, 1.0);
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        DAGShortestPath.PathResult result = dagSP.findCriticalPath();
+        
+        assertEquals(2, result.getSource());
+        assertEquals(7.0, result.getDistance(4), 0.001);
+        assertEquals(List.of(2, 3, 4), result.getPath(4));
+    }
+
+    @Test
+    @DisplayName("Test critical path matches exhaustive search on random DAGs")
+    void testFindCriticalPathMatchesExhaustive() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(25);
+            Graph graph = new Graph(n);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (random.nextDouble() < 0.2) {
+                        // Small integer weights make ties between sources likely
+                        graph.addEdge(i, j, random.nextInt(4) - 1);
+                    }
+                }
+            }
+            
+            DAGShortestPath dagSP = new DAGShortestPath(graph);
+            DAGShortestPath.PathResult expected = null;
+            double maxLength = Double.NEGATIVE_INFINITY;
+            for (int source = 0; source < n; source++) {
+                DAGShortestPath.PathResult result = dagSP.longestPath(source);
+                for (int dest = 0; dest < n; dest++) {
+                    if (result.getDistance(dest) > maxLength &&
+                        result.getDistance(dest) != Double.NEGATIVE_INFINITY) {
+                        maxLength = result.getDistance(dest);
+                        expected = result;
+                    }
+                }
+            }
+            
+            DAGShortestPath.PathResult actual = dagSP.findCriticalPath();
+            assertEquals(expected.getSource(), actual.getSource());
+            assertArrayEquals(expected.getDistances(), actual.getDistances());
+        }
+    }
+
+    @Test
+    @DisplayName("Test critical path of empty graph")
+    void testFindCriticalPathEmpty() {
+        DAGShortestPath dagSP = new DAGShortestPath(new Graph(0));
+        assertNull(dagSP.findCriticalPath());
+    }
+
+    @Test
+    @DisplayName("Test prepared plan gives the same results as per-call sorting")
+    void testPreparedMatchesUnprepared() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(30);
+            Graph graph = new Graph(n);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (random.nextDouble() < 0.25) {
+                        graph.addEdge(i, j, random.nextInt(10));
+                    }
+                }
+            }
+            
+            DAGShortestPath plain = new DAGShortestPath(graph);
+            DAGShortestPath prepared = new DAGShortestPath(graph);
+            prepared.prepare();
+            assertTrue(prepared.isPrepared());
+            
+            for (int source = 0; source < n; source++) {
+                DAGShortestPath.PathResult expected = plain.shortestPath(source);
+                DAGShortestPath.PathResult actual = prepared.shortestPath(source);
+                assertArrayEquals(expected.getDistances(), actual.getDistances());
+                
+                expected = plain.longestPath(source);
+                actual = prepared.longestPath(source);
+                assertArrayEquals(expected.getDistances(), actual.getDistances());
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected.getPath(v), actual.getPath(v));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test plan is cached per graph version and rebuilt after changes")
+    void testPlanFollowsGraphVersion() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(1, 2, 5.0);
+
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        assertFalse(dagSP.isPrepared());
+        assertEquals(10.0, dagSP.shortestPath(0).getDistance(2), 0.001);
+        // The first query stores its plan for the next ones
+        assertTrue(dagSP.isPrepared());
+        TopologicalPlan plan = dagSP.prepare();
+        assertSame(plan, dagSP.prepare());
+
+        graph.addEdge(0, 2, 1.0);
+        assertFalse(dagSP.isPrepared());
+        assertEquals(1.0, dagSP.shortestPath(0).getDistance(2), 0.001);
+        assertNotSame(plan, dagSP.prepare());
+
+        graph.addEdge(2, 0, 1.0);
+        assertThrows(IllegalStateException.class, () -> dagSP.shortestPath(0));
+    }
+
+    @Test
+    @DisplayName("Test prepare rejects cyclic graphs")
+    void testPrepareCycleThrowsException() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        assertThrows(IllegalStateException.class, dagSP::prepare);
+    }
+
+    @Test
+    @DisplayName("Test batched sources match independent queries")
+    void testBatchedSourcesMatchSingleQueries() {
+        Random random = new Random(11);
+        int n = 120;
+        Graph graph = new Graph(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (random.nextDouble() < 0.05) {
+                    graph.addEdge(i, j, 1 + random.nextInt(9));
+                }
+            }
+        }
+        
+        int[] sources = new int[70];
+        for (int k = 0; k < sources.length; k++) {
+            sources[k] = random.nextInt(n);
+        }
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        dagSP.prepare();
+        List<DAGShortestPath.PathResult> shortest = dagSP.shortestPaths(sources);
+        List<DAGShortestPath.PathResult> longest = dagSP.longestPaths(sources);
+        long batchRelaxations = dagSP.getMetrics().getCounter("relaxations");
+        long singleRelaxations = 0;
+        
+        assertEquals(sources.length, shortest.size());
+        for (int k = 0; k < sources.length; k++) {
+            DAGShortestPath.PathResult expected = dagSP.shortestPath(sources[k]);
+            assertEquals(sources[k], shortest.get(k).getSource());
+            assertArrayEquals(expected.getDistances(), shortest.get(k).getDistances());
+            
+            expected = dagSP.longestPath(sources[k]);
+            singleRelaxations += dagSP.getMetrics().getCounter("relaxations");
+            assertArrayEquals(expected.getDistances(), longest.get(k).getDistances());
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected.getPath(v), longest.get(k).getPath(v));
+            }
+        }
+        // Lanes that have not reached an edge do not count as relaxing it
+        assertEquals(singleRelaxations, batchRelaxations);
+    }
+
+    @Test
+    @DisplayName("Test point-to-point paths")
+    void testPointToPoint() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(4, 3, 1.0);
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        
+        assertArrayEquals(new int[]{0, 2, 3}, dagSP.shortestPath(0, 3));
+        assertArrayEquals(new int[]{0, 1, 3}, dagSP.longestPath(0, 3));
+        assertArrayEquals(new int[]{2}, dagSP.shortestPath(2, 2));
+        assertEquals(0, dagSP.shortestPath(3, 0).length);
+        assertEquals(0, dagSP.shortestPath(4, 1).length);
+    }
+
+    @Test
+    @DisplayName("Test point-to-point paths match full single-source results")
+    void testPointToPointMatchesSingleSource() {
+        Random random = new Random(19);
+        int n = 60;
+        Graph graph = new Graph(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (random.nextDouble() < 0.08) {
+                    graph.addEdge(i, j, random.nextInt(5));
+                }
+            }
+        }
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        dagSP.prepare();
+        for (int s = 0; s < n; s += 3) {
+            DAGShortestPath.PathResult shortest = dagSP.shortestPath(s);
+            DAGShortestPath.PathResult longest = dagSP.longestPath(s);
+            for (int t = 0; t < n; t++) {
+                int[] expected = shortest.getPath(t).stream().mapToInt(Integer::intValue).toArray();
+                assertArrayEquals(expected, dagSP.shortestPath(s, t));
+                expected = longest.getPath(t).stream().mapToInt(Integer::intValue).toArray();
+                assertArrayEquals(expected, dagSP.longestPath(s, t));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test level-parallel sweep matches the sequential sweep on a wide DAG")
+    void testParallelMatchesSequential() {
+        Random random = new Random(38);
+        int width = 3000;
+        int depth = 5;
+        Graph graph = new Graph(width * depth);
+        for (int l = 1; l < depth; l++) {
+            for (int v = 0; v < width; v++) {
+                int target = l * width + v;
+                for (int k = 0; k < 3; k++) {
+                    int from = (l - 1 - random.nextInt(l)) * width + random.nextInt(width);
+                    graph.addEdge(from, target, random.nextInt(4));
+                }
+            }
+        }
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        assertEquals(depth, dagSP.prepare().getLevelCount());
+        for (int source : new int[]{0, 17, width + 5}) {
+            DAGShortestPath.PathResult expected = dagSP.longestPath(source);
+            DAGShortestPath.PathResult actual = dagSP.longestPathParallel(source);
+            assertTrue(dagSP.getMetrics().getCounter("parallel_levels") > 0);
+            assertArrayEquals(expected.getDistances(), actual.getDistances());
+            for (int v = 0; v < graph.getVertexCount(); v += 7) {
+                assertEquals(expected.getPath(v), actual.getPath(v));
+            }
+            
+            expected = dagSP.shortestPath(source);
+            actual = dagSP.shortestPathParallel(source);
+            assertArrayEquals(expected.getDistances(), actual.getDistances());
+            for (int v = 0; v < graph.getVertexCount(); v += 7) {
+                assertEquals(expected.getPath(v), actual.getPath(v));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test level-parallel sweep on a small DAG without a prepared plan")
+    void testParallelSmallGraph() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 3.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(4, 3, 1.0);
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        DAGShortestPath.PathResult result = dagSP.longestPathParallel(0);
+        assertEquals(4.0, result.getDistance(3), 0.001);
+        assertEquals(List.of(0, 1, 3), result.getPath(3));
+        assertTrue(result.isUnreachable(4));
+        assertEquals(2.0, dagSP.shortestPathParallel(0).getDistance(3), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test repeated queries build up phase latency histograms")
+    void testPhaseHistograms() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        
+        DAGShortestPath dagSP = new DAGShortestPath(graph);
+        for (int i = 0; i < 5; i++) {
+            dagSP.shortestPath(0);
+        }
+        dagSP.longestPath(0, 2);
+        
+        assertEquals(5, dagSP.getMetrics().getPhaseHistogram("shortest").getCount());
+        assertEquals(1, dagSP.getMetrics().getPhaseHistogram("longest").getCount());
+        assertThrows(IllegalArgumentException.class, () -> dagSP.shortestPathParallel(7));
+        assertEquals(6, dagSP.getMetrics().getPhaseHistogram("shortest").getCount());
+    }
+
+    @Test
+    @DisplayName("Test path result footprint estimate")
+    void testEstimateBytes() {
+        Graph graph = new Graph(100);
+        DAGShortestPath.PathResult result = new DAGShortestPath(graph).shortestPath(0);
+        // Object, 100 doubles and 100 ints
+        assertEquals(32 + 816 + 416, result.estimateBytes());
+    }
 }
@@ -0,0 +1,98 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DynamicDAGPaths.
+ */
+class DynamicDAGPathsTest {
+
+    @Test
+    @DisplayName("Test critical path follows weight changes")
+    void testCriticalPathUpdates() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+
+        DynamicDAGPaths paths = new DynamicDAGPaths(graph, DynamicDAGPaths.ALL_SOURCES, true);
+        assertEquals(6.0, paths.getCriticalPathLength(), 0.001);
+        assertArrayEquals(new int[]{0, 1, 3}, paths.getCriticalPath());
+
+        paths.setEdgeWeight(2, 3, 10.0);
+        assertEquals(12.0, paths.getCriticalPathLength(), 0.001);
+        assertArrayEquals(new int[]{0, 2, 3}, paths.getCriticalPath());
+
+        paths.setEdgeWeight(2, 3, 0.5);
+        assertEquals(6.0, paths.getCriticalPathLength(), 0.001);
+        assertArrayEquals(new int[]{0, 1, 3}, paths.getCriticalPath());
+        assertEquals(0.5, paths.getEdgeWeight(2, 3), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test update only touches the downstream region")
+    void testPropagationStops() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(0, 4, 1.0);
+        graph.addEdge(4, 3, 10.0);
+
+        DynamicDAGPaths paths = new DynamicDAGPaths(graph, 0, true);
+        // 1 -> 2 -> 3 is dominated by 0 -> 4 -> 3, so vertex 3 absorbs the change
+        paths.setEdgeWeight(0, 1, 2.0);
+        assertEquals(3, paths.getMetrics().getCounter("vertices_recomputed"));
+        assertEquals(11.0, paths.getDistance(3), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test incremental distances match recomputation")
+    void testMatchesRecomputation() {
+        Random random = new Random(31);
+        int n = 40;
+        int[][] edges = new int[200][];
+        double[] weights = new double[200];
+        int m = 0;
+        for (int i = 0; i < n && m < edges.length; i++) {
+            for (int j = i + 1; j < n && m < edges.length; j++) {
+                if (random.nextDouble() < 0.15) {
+                    edges[m] = new int[]{i, j};
+                    weights[m] = random.nextInt(10);
+                    m++;
+                }
+            }
+        }
+
+        for (boolean longest : new boolean[]{false, true}) {
+            DynamicDAGPaths paths = new DynamicDAGPaths(build(n, edges, weights, m), 0, longest);
+            double[] current = weights.clone();
+            for (int step = 0; step < 100; step++) {
+                int k = random.nextInt(m);
+                current[k] = random.nextInt(10);
+                paths.setEdgeWeight(edges[k][0], edges[k][1], current[k]);
+
+                DAGShortestPath dagSP = new DAGShortestPath(build(n, edges, current, m));
+                DAGShortestPath.PathResult expected = longest ? dagSP.longestPath(0) : dagSP.shortestPath(0);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected.getDistance(v), paths.getDistance(v), 1e-9);
+                }
+            }
+        }
+    }
+
+    private static Graph build(int n, int[][] edges, double[] weights, int m) {
+        Graph graph = new Graph(n);
+        for (int k = 0; k < m; k++) {
+            graph.addEdge(edges[k][0], edges[k][1], weights[k]);
+        }
+        return graph;
+    }
+}
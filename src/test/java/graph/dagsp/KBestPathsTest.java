@@ -0,0 +1,98 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KBestPaths.
+ */
+class KBestPathsTest {
+
+    @Test
+    @DisplayName("Test paths of diamond DAG in order")
+    void testDiamond() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(0, 3, 4.0);
+
+        KBestPaths shortest = new KBestPaths(graph, 0, 3, false);
+        List<KBestPaths.WeightedPath> paths = shortest.top(10);
+
+        assertEquals(3, paths.size());
+        assertArrayEquals(new int[]{0, 2, 3}, paths.get(0).getVertices());
+        assertEquals(3.0, paths.get(0).getLength(), 0.001);
+        assertArrayEquals(new int[]{0, 3}, paths.get(1).getVertices());
+        assertArrayEquals(new int[]{0, 1, 3}, paths.get(2).getVertices());
+        assertFalse(shortest.hasNext());
+        assertNull(shortest.next());
+
+        KBestPaths longest = new KBestPaths(graph, 0, 3, true);
+        assertEquals(6.0, longest.next().getLength(), 0.001);
+        assertEquals(4.0, longest.next().getLength(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test unreachable target yields no paths")
+    void testUnreachable() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+
+        assertFalse(new KBestPaths(graph, 0, 2, false).hasNext());
+        assertFalse(new KBestPaths(graph, 1, 0, true).hasNext());
+        assertEquals(1, new KBestPaths(graph, 2, 2, false).top(5).size());
+    }
+
+    @Test
+    @DisplayName("Test enumeration matches exhaustive search on random DAGs")
+    void testMatchesExhaustive() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 2 + random.nextInt(12);
+            Graph graph = new Graph(n);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (random.nextDouble() < 0.45) {
+                        graph.addEdge(i, j, random.nextInt(10));
+                    }
+                }
+            }
+
+            List<Double> all = new ArrayList<>();
+            collectLengths(graph, 0, n - 1, 0, all);
+            Collections.sort(all);
+
+            for (boolean longest : new boolean[]{false, true}) {
+                List<KBestPaths.WeightedPath> paths = new KBestPaths(graph, 0, n - 1, longest).top(Integer.MAX_VALUE);
+                assertEquals(all.size(), paths.size());
+                for (int k = 0; k < paths.size(); k++) {
+                    double expected = longest ? all.get(all.size() - 1 - k) : all.get(k);
+                    assertEquals(expected, paths.get(k).getLength(), 1e-9);
+                    int[] vertices = paths.get(k).getVertices();
+                    assertEquals(0, vertices[0]);
+                    assertEquals(n - 1, vertices[vertices.length - 1]);
+                }
+            }
+        }
+    }
+
+    private static void collectLengths(Graph graph, int u, int target, double length, List<Double> out) {
+        if (u == target) {
+            out.add(length);
+            return;
+        }
+        for (Graph.Edge edge : graph.getEdges(u)) {
+            collectLengths(graph, edge.to, target, length + edge.weight, out);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ListScheduler.
+ */
+class ListSchedulerTest {
+
+    @Test
+    @DisplayName("Test single worker runs tasks back to back")
+    void testSingleWorker() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 2);
+
+        ListScheduler scheduler = new ListScheduler(graph, new double[]{2.0, 3.0, 1.0});
+        ListScheduler.Schedule schedule = scheduler.schedule(1);
+
+        assertEquals(6.0, schedule.getMakespan(), 0.001);
+        // Task 1 has the longer remaining chain, so it goes first
+        assertEquals(0.0, schedule.getStart(1), 0.001);
+        assertEquals(3.0, schedule.getStart(0), 0.001);
+        assertEquals(5.0, schedule.getStart(2), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test enough workers reach the critical path bound")
+    void testUnboundedWorkersMatchCriticalPath() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+
+        double[] durations = {1.0, 4.0, 2.0, 3.0, 1.0};
+        ListScheduler scheduler = new ListScheduler(graph, durations);
+        ListScheduler.Schedule schedule = scheduler.schedule(10);
+
+        assertEquals(9.0, scheduler.getCriticalPathLength(), 0.001);
+        assertEquals(9.0, schedule.getMakespan(), 0.001);
+        assertEquals(5, schedule.getWorkerCount());
+    }
+
+    @Test
+    @DisplayName("Test precedence and worker capacity are respected")
+    void testPrecedenceAndCapacity() {
+        Graph graph = new Graph(6);
+        graph.addEdge(0, 3);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 4);
+        graph.addEdge(3, 5);
+        graph.addEdge(4, 5);
+
+        double[] durations = {2.0, 1.0, 3.0, 2.0, 1.0, 1.0};
+        ListScheduler scheduler = new ListScheduler(graph, durations);
+        ListScheduler.Schedule schedule = scheduler.schedule(2);
+
+        for (int u = 0; u < 6; u++) {
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                assertTrue(schedule.getFinish(u) <= schedule.getStart(edge.to) + 1e-9,
+                          "Task " + edge.to + " must start after " + u + " finishes");
+            }
+        }
+        for (int a = 0; a < 6; a++) {
+            for (int b = a + 1; b < 6; b++) {
+                if (schedule.getWorker(a) == schedule.getWorker(b)) {
+                    boolean disjoint = schedule.getFinish(a) <= schedule.getStart(b) + 1e-9 ||
+                                       schedule.getFinish(b) <= schedule.getStart(a) + 1e-9;
+                    assertTrue(disjoint, "Tasks " + a + " and " + b + " overlap on one worker");
+                }
+            }
+        }
+        assertTrue(schedule.getMakespan() >= scheduler.getCriticalPathLength() - 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test durations derived from edge weights")
+    void testEdgeDurations() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(1, 2, 1.0);
+
+        ListScheduler scheduler = new ListScheduler(graph);
+        ListScheduler.Schedule schedule = scheduler.schedule(1);
+
+        // Vertex durations are 5, 1, 0
+        assertEquals(6.0, schedule.getMakespan(), 0.001);
+        assertEquals(5.0, schedule.getStart(1), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test edge-duration critical path matches the longest path")
+    void testEdgeCriticalPathMatchesLongestPath() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 3.0);
+        graph.addEdge(0, 2, 10.0);
+        graph.addEdge(1, 3, 5.0);
+
+        ListScheduler scheduler = new ListScheduler(graph);
+        double longest = new DAGShortestPath(graph).longestPath(0).getDistance(2);
+        assertEquals(10.0, longest, 0.001);
+        assertEquals(longest, scheduler.getCriticalPathLength(), 0.001);
+        assertArrayEquals(new double[]{10, 5, 0, 0}, scheduler.getPriorities(), 0.001);
+
+        // Enough workers reach the critical path; one worker runs tasks back to back
+        assertEquals(10.0, scheduler.schedule(4).getMakespan(), 0.001);
+        ListScheduler.Schedule serial = scheduler.schedule(1);
+        assertEquals(10.0, serial.getStart(1), 0.001);
+        assertEquals(15.0, serial.getMakespan(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test shared metrics collector is not reset")
+    void testSharedMetrics() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+
+        Metrics metrics = new MetricsImpl();
+        ListScheduler scheduler = new ListScheduler(graph, metrics);
+        scheduler.schedule(1);
+        scheduler.schedule(2);
+        assertSame(metrics, scheduler.getMetrics());
+        assertEquals(6, metrics.getCounter("tasks_scheduled"));
+    }
+
+    @Test
+    @DisplayName("Test cycle detection throws exception")
+    void testCycleThrowsException() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+
+        ListScheduler scheduler = new ListScheduler(graph, new double[]{1.0, 1.0});
+        assertThrows(IllegalStateException.class, () -> scheduler.schedule(1));
+    }
+}
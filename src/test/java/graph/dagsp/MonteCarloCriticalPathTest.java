@@ -0,0 +1,92 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MonteCarloCriticalPath.
+ */
+class MonteCarloCriticalPathTest {
+
+    private Graph createProject() {
+        // Two branches from 0 to 3: 0 -> 1 -> 3 (nominal 6) and 0 -> 2 -> 3 (nominal 4)
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 2.0);
+        graph.addEdge(2, 4, 1.0);
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Test fixed weights reproduce the deterministic critical path")
+    void testFixedWeights() {
+        Graph graph = createProject();
+        MonteCarloCriticalPath simulation = new MonteCarloCriticalPath(graph,
+            (from, edge) -> MonteCarloCriticalPath.Distribution.fixed(edge.weight));
+
+        MonteCarloCriticalPath.Result result = simulation.simulate(1000, 1L);
+
+        assertEquals(1000, result.getSampleCount());
+        assertEquals(6.0, result.getMean(), 1e-9);
+        assertEquals(0.0, result.getStandardDeviation(), 1e-9);
+        assertEquals(6.0, result.getPercentile(95), 1e-9);
+        assertEquals(1.0, result.getCriticality(0), 1e-9);
+        assertEquals(1.0, result.getCriticality(1), 1e-9);
+        assertEquals(0.0, result.getCriticality(2), 1e-9);
+        assertEquals(1.0, result.getCriticality(3), 1e-9);
+        assertEquals(1000, simulation.getMetrics().getCounter("samples"));
+    }
+
+    @Test
+    @DisplayName("Test uncertain weights shift criticality between branches")
+    void testUncertainWeights() {
+        Graph graph = createProject();
+        // Branch 0 -> 2 -> 3 becomes critical whenever edge 0 -> 2 samples above 4
+        MonteCarloCriticalPath simulation = new MonteCarloCriticalPath(graph, (from, edge) ->
+            from == 0 && edge.to == 2
+                ? MonteCarloCriticalPath.Distribution.uniform(2.0, 6.0)
+                : MonteCarloCriticalPath.Distribution.fixed(edge.weight));
+
+        MonteCarloCriticalPath.Result result = simulation.simulate(20000, 7L);
+
+        assertEquals(6.0, result.getMin(), 1e-9);
+        assertTrue(result.getMax() <= 8.0);
+        assertEquals(0.5, result.getCriticality(2), 0.03);
+        assertEquals(0.5, result.getCriticality(1), 0.03);
+        assertEquals(1.0, result.getCriticality(3), 1e-9);
+        assertTrue(result.getPercentile(50) <= result.getPercentile(95));
+        assertEquals(6.5, result.getMean(), 0.05);
+    }
+
+    @Test
+    @DisplayName("Test equal seeds give equal results")
+    void testDeterministic() {
+        Graph graph = createProject();
+        MonteCarloCriticalPath simulation = new MonteCarloCriticalPath(graph, (from, edge) ->
+            MonteCarloCriticalPath.Distribution.triangular(edge.weight * 0.5, edge.weight, edge.weight * 2));
+
+        MonteCarloCriticalPath.Result first = simulation.simulate(5000, 42L);
+        MonteCarloCriticalPath.Result second = simulation.simulate(5000, 42L);
+
+        assertEquals(first.getMean(), second.getMean());
+        assertEquals(first.getPercentile(99), second.getPercentile(99));
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            assertEquals(first.getCriticality(v), second.getCriticality(v));
+        }
+        assertTrue(first.getMin() >= 3.0 - 1e-9 && first.getMax() <= 12.0 + 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test invalid distributions and sample counts throw exceptions")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> MonteCarloCriticalPath.Distribution.uniform(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> MonteCarloCriticalPath.Distribution.triangular(1, 3, 2));
+        MonteCarloCriticalPath simulation = MonteCarloCriticalPath.withUniformSpread(createProject(), 0.1);
+        assertThrows(IllegalArgumentException.class, () -> simulation.simulate(0, 1L));
+    }
+}
@@ -0,0 +1,117 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PathQueryService.
+ */
+class PathQueryServiceTest {
+
+    private static Graph chain(int n) {
+        Graph graph = new Graph(n);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1, 1.0);
+        }
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Test repeated queries hit the cache")
+    void testHitsAndMisses() {
+        PathQueryService service = new PathQueryService(chain(5), 10);
+
+        DAGShortestPath.PathResult first = service.shortestPath(0);
+        DAGShortestPath.PathResult second = service.shortestPath(0);
+        service.longestPath(0);
+
+        assertSame(first, second);
+        assertEquals(4.0, second.getDistance(4), 0.001);
+        assertEquals(1, service.getMetrics().getCounter("cache_hits"));
+        assertEquals(2, service.getMetrics().getCounter("cache_misses"));
+        assertEquals(2, service.size());
+        assertEquals(1.0 / 3, service.getHitRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test least recently used entry is evicted")
+    void testLruEviction() {
+        PathQueryService service = new PathQueryService(chain(5), 2);
+
+        DAGShortestPath.PathResult zero = service.shortestPath(0);
+        service.shortestPath(1);
+        service.shortestPath(0);   // 0 becomes most recently used
+        service.shortestPath(2);   // evicts 1
+
+        assertEquals(2, service.size());
+        assertEquals(1, service.getMetrics().getCounter("cache_evictions"));
+        assertSame(zero, service.shortestPath(0));
+        service.shortestPath(1);
+        assertEquals(4, service.getMetrics().getCounter("cache_misses"));
+    }
+
+    @Test
+    @DisplayName("Test byte budget bounds the cache")
+    void testByteBudget() {
+        // Each entry of a 100-vertex graph is estimated at 1264 bytes
+        PathQueryService service = new PathQueryService(chain(100), 100, 3000);
+        for (int s = 0; s < 10; s++) {
+            service.shortestPath(s);
+        }
+        assertEquals(2, service.size());
+        assertTrue(service.getCachedBytes() <= 3000);
+    }
+
+    @Test
+    @DisplayName("Test graph changes invalidate cached results")
+    void testVersionInvalidation() {
+        Graph graph = chain(4);
+        PathQueryService service = new PathQueryService(graph, 10);
+        assertEquals(3.0, service.shortestPath(0).getDistance(3), 0.001);
+
+        graph.addEdge(0, 3, 1.0);
+        assertEquals(1.0, service.shortestPath(0).getDistance(3), 0.001);
+        assertEquals(1, service.getMetrics().getCounter("cache_invalidations"));
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    @DisplayName("Test concurrent readers get consistent results and metrics")
+    void testConcurrentQueries() throws Exception {
+        Graph graph = chain(200);
+        PathQueryService service = new PathQueryService(graph, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Double>> futures = new ArrayList<>();
+            List<Future<String>> reports = new ArrayList<>();
+            for (int k = 0; k < 400; k++) {
+                int source = k % 20;
+                futures.add(executor.submit(() -> service.longestPath(source).getDistance(199)));
+                if (k % 40 == 0) {
+                    // Metrics are read while queries update them
+                    reports.add(executor.submit(() -> service.getMetrics().getMetricsReport()));
+                }
+            }
+            for (int k = 0; k < futures.size(); k++) {
+                assertEquals(199.0 - (k % 20), futures.get(k).get(), 0.001);
+            }
+            for (Future<String> report : reports) {
+                assertTrue(report.get().contains("Operation Counters"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long hits = service.getMetrics().getCounter("cache_hits");
+        long misses = service.getMetrics().getCounter("cache_misses");
+        assertEquals(400, hits + misses);
+    }
+}
@@ -0,0 +1,156 @@
+package graph.dagsp;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScenarioEvaluator.
+ */
+class ScenarioEvaluatorTest {
+
+    @Test
+    @DisplayName("Test scenarios pick different routes")
+    void testScenarios() {
+        // Edge ids: 0 = 0->1, 1 = 0->2, 2 = 1->3, 3 = 2->3
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+
+        double[] weights = ScenarioEvaluator.toColumnar(new double[][]{
+            {1, 5, 1, 1},   // Normal: via 1
+            {9, 2, 1, 1},   // Rush hour: via 2
+        });
+        ScenarioEvaluator evaluator = new ScenarioEvaluator(graph);
+        ScenarioEvaluator.Result shortest = evaluator.shortestPaths(0, weights, 2);
+
+        assertEquals(2, shortest.getScenarioCount());
+        assertEquals(2.0, shortest.getDistance(0, 3), 0.001);
+        assertEquals(3.0, shortest.getDistance(1, 3), 0.001);
+        assertArrayEquals(new int[]{0, 1, 3}, shortest.getPath(0, 3));
+        assertArrayEquals(new int[]{0, 2, 3}, shortest.getPath(1, 3));
+
+        ScenarioEvaluator.Result longest = evaluator.longestPaths(0, weights, 2);
+        assertEquals(6.0, longest.getDistance(0, 3), 0.001);
+        assertArrayEquals(new int[]{0, 1, 3}, longest.getPath(1, 3));
+    }
+
+    @Test
+    @DisplayName("Test reachability is decided per scenario")
+    void testDisabledEdges() {
+        // Edge ids: 0 = 0->1, 1 = 1->2
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+
+        double inf = Double.POSITIVE_INFINITY;
+        double[] weights = ScenarioEvaluator.toColumnar(new double[][]{
+            {inf, 1},   // 0->1 closed
+            {1, 1},     // Open
+        });
+        ScenarioEvaluator evaluator = new ScenarioEvaluator(graph);
+        ScenarioEvaluator.Result shortest = evaluator.shortestPaths(0, weights, 2);
+        assertTrue(shortest.isUnreachable(0, 2));
+        assertArrayEquals(new int[0], shortest.getPath(0, 2));
+        assertFalse(shortest.isUnreachable(1, 2));
+        assertArrayEquals(new int[]{0, 1, 2}, shortest.getPath(1, 2));
+
+        // Longest paths disable edges with negative infinity
+        double[] longestWeights = ScenarioEvaluator.toColumnar(new double[][]{
+            {1, 1},
+            {1, Double.NEGATIVE_INFINITY},
+        });
+        ScenarioEvaluator.Result longest = evaluator.longestPaths(0, longestWeights, 2);
+        assertArrayEquals(new int[]{0, 1, 2}, longest.getPath(0, 2));
+        assertTrue(longest.isUnreachable(1, 2));
+        assertArrayEquals(new int[0], longest.getPath(1, 2));
+        assertFalse(longest.isUnreachable(1, 1));
+    }
+
+    @Test
+    @DisplayName("Test every scenario matches a graph rebuilt with its weights")
+    void testMatchesRebuiltGraphs() {
+        Random random = new Random(40);
+        int n = 50;
+        int[][] edges = new int[200][];
+        for (int k = 0; k < edges.length; k++) {
+            int u = random.nextInt(n - 1);
+            edges[k] = new int[]{u, u + 1 + random.nextInt(n - u - 1)};
+        }
+        Graph topology = new Graph(n);
+        for (int[] edge : edges) {
+            topology.addEdge(edge[0], edge[1], 0);
+        }
+        // Edge ids follow the source vertex, then insertion order
+        int[] edgeId = new int[edges.length];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            for (int k = 0; k < edges.length; k++) {
+                if (edges[k][0] == v) {
+                    edgeId[k] = next++;
+                }
+            }
+        }
+
+        int scenarios = 70;
+        double[][] perScenario = new double[scenarios][edges.length];
+        for (double[] row : perScenario) {
+            for (int e = 0; e < row.length; e++) {
+                row[e] = random.nextInt(10);
+            }
+        }
+        ScenarioEvaluator evaluator = new ScenarioEvaluator(topology);
+        double[] matrix = ScenarioEvaluator.toColumnar(perScenario);
+        ScenarioEvaluator.Result shortest = evaluator.shortestPaths(0, matrix, scenarios);
+        ScenarioEvaluator.Result longest = evaluator.longestPaths(0, matrix, scenarios);
+
+        for (int s = 0; s < scenarios; s++) {
+            Graph graph = new Graph(n);
+            for (int k = 0; k < edges.length; k++) {
+                graph.addEdge(edges[k][0], edges[k][1], perScenario[s][edgeId[k]]);
+            }
+            DAGShortestPath dagSP = new DAGShortestPath(graph);
+            assertArrayEquals(dagSP.shortestPath(0).getDistances(), shortest.toPathResult(s).getDistances());
+            DAGShortestPath.PathResult expected = dagSP.longestPath(0);
+            DAGShortestPath.PathResult actual = longest.toPathResult(s);
+            assertArrayEquals(expected.getDistances(), actual.getDistances());
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected.getPath(v), actual.getPath(v));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test invalid weight matrix throws exception")
+    void testInvalidMatrix() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        ScenarioEvaluator evaluator = new ScenarioEvaluator(graph);
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator.shortestPaths(0, new double[3], 2));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.shortestPaths(5, new double[2], 2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> ScenarioEvaluator.toColumnar(new double[][]{{1}, {1, 2}}));
+    }
+
+    @Test
+    @DisplayName("Test matrices larger than an array throw exception")
+    void testOversizedMatrix() {
+        // 70,000 x 40,000 overflows int; the rows can share one array
+        double[] row = new double[70_000];
+        double[][] scenarioWeights = new double[40_000][];
+        Arrays.fill(scenarioWeights, row);
+        assertThrows(IllegalArgumentException.class, () -> ScenarioEvaluator.toColumnar(scenarioWeights));
+
+        // Without edges the weight matrix is empty, but the distances are not
+        ScenarioEvaluator evaluator = new ScenarioEvaluator(new Graph(70_000));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.longestPaths(0, new double[0], 40_000));
+    }
+}
@@ -0,0 +1,72 @@
+package graph.jfr;
+
+import graph.common.Graph;
+import graph.common.GraphLoader;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopologicalSort;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JFR events emitted by the algorithms.
+ */
+class GraphEventsTest {
+
+    @Test
+    @DisplayName("Test every phase emits its event with graph size and version")
+    void testEventsRecorded(@TempDir Path dir) throws Exception {
+        Path json = dir.resolve("graph.json");
+        Files.writeString(json, "{\"vertices\": 3, \"edges\": ["
+            + "{\"from\": 0, \"to\": 1}, {\"from\": 1, \"to\": 0}, {\"from\": 1, \"to\": 2, \"weight\": 2}]}");
+        Path output = dir.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"graph.GraphLoad", "graph.Scc", "graph.Condensation",
+                                            "graph.TopoSort", "graph.PathComputation"}) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+
+            Graph graph = GraphLoader.loadFromJson(json.toString());
+            TarjanSCC tarjan = new TarjanSCC(graph);
+            tarjan.findSCCs();
+            Graph condensation = tarjan.buildCondensation();
+            new KahnTopologicalSort(condensation).sort();
+            new DAGShortestPath(condensation).longestPath(0);
+
+            recording.stop();
+            recording.dump(output);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+        List<String> names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toList());
+        assertTrue(names.contains("graph.GraphLoad"));
+        assertTrue(names.contains("graph.Condensation"));
+        assertTrue(names.contains("graph.TopoSort"));
+
+        RecordedEvent scc = events.stream()
+            .filter(e -> e.getEventType().getName().equals("graph.Scc")).findFirst().orElseThrow();
+        assertEquals(3, scc.getInt("vertexCount"));
+        assertEquals(3, scc.getInt("edgeCount"));
+        assertEquals(3, scc.getInt("graphVersion"));
+        assertEquals(2, scc.getInt("componentCount"));
+
+        RecordedEvent path = events.stream()
+            .filter(e -> e.getEventType().getName().equals("graph.PathComputation")).findFirst().orElseThrow();
+        assertEquals("longest", path.getString("kind"));
+        assertEquals(2, path.getInt("vertexCount"));
+        assertFalse(path.getDuration().isNegative());
+    }
+}
@@ -0,0 +1,86 @@
+package graph.reach;
+
+import graph.common.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReachabilityIndex.
+ */
+class ReachabilityIndexTest {
+
+    @Test
+    @DisplayName("Test reachability through an SCC")
+    void testThroughCycle() {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);  // Cycle: 1 <-> 2
+        graph.addEdge(2, 3);
+
+        ReachabilityIndex index = new ReachabilityIndex(graph);
+
+        assertTrue(index.usesClosure());
+        assertEquals(4, index.getComponentCount());
+        assertEquals(index.getComponentOf(1), index.getComponentOf(2));
+        assertTrue(index.reaches(0, 3));
+        assertTrue(index.reaches(2, 1));
+        assertFalse(index.reaches(3, 0));
+        assertFalse(index.reaches(0, 4));
+        assertTrue(index.dependsOn(3, 0));
+        assertFalse(index.dependsOn(0, 3));
+    }
+
+    @Test
+    @DisplayName("Test closure and interval labels agree with BFS")
+    void testMatchesBreadthFirstSearch() {
+        Random random = new Random(37);
+        for (int trial = 0; trial < 10; trial++) {
+            int n = 30 + random.nextInt(50);
+            Graph graph = new Graph(n);
+            for (int k = 0; k < n * 2; k++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                // Mostly forward edges with a few back edges forming SCCs
+                if (u < v || random.nextDouble() < 0.05) {
+                    graph.addEdge(u, v);
+                }
+            }
+
+            ReachabilityIndex closure = new ReachabilityIndex(graph);
+            ReachabilityIndex labels = new ReachabilityIndex(graph, 0);
+            assertTrue(closure.usesClosure());
+            assertFalse(labels.usesClosure());
+
+            for (int a = 0; a < n; a++) {
+                boolean[] expected = bfs(graph, a);
+                for (int b = 0; b < n; b++) {
+                    assertEquals(expected[b], closure.reaches(a, b), a + " -> " + b);
+                    assertEquals(expected[b], labels.reaches(a, b), a + " -> " + b);
+                }
+            }
+        }
+    }
+
+    private static boolean[] bfs(Graph graph, int source) {
+        boolean[] seen = new boolean[graph.getVertexCount()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        seen[source] = true;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            for (Graph.Edge edge : graph.getEdges(queue.poll())) {
+                if (!seen[edge.to]) {
+                    seen[edge.to] = true;
+                    queue.add(edge.to);
+                }
+            }
+        }
+        return seen;
+    }
+}
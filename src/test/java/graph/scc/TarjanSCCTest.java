@@ -1,6 +1,9 @@
 package graph.scc;
 
 import graph.common.Graph;
+import graph.common.Metrics;
+import graph.common.MetricsImpl;
+import graph.common.NoOpMetrics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -167,4 +170,45 @@ class TarjanSCCTest {
         recStack[v] = false;
         return false;
     }
+
+    @Test
+    @DisplayName("Test component mapping matches SCC lists and condensation")
+    void testComponentMapping() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        
+        TarjanSCC tarjan = new TarjanSCC(graph);
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        
+        for (int i = 0; i < sccs.size(); i++) {
+            for (int vertex : sccs.get(i)) {
+                assertEquals(i, tarjan.getComponentOf(vertex));
+            }
+        }
+        Graph condensation = tarjan.buildCondensation();
+        assertTrue(condensation.hasEdge(tarjan.getComponentOf(1), tarjan.getComponentOf(2)));
+        assertEquals(tarjan.getComponentOf(0), tarjan.getComponentMapping()[1]);
+    }
+
+    @Test
+    @DisplayName("Test injected metrics are shared and not reset")
+    void testInjectedMetrics() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        graph.addEdge(1, 2, 1.0);
+
+        Metrics shared = new MetricsImpl();
+        new TarjanSCC(graph, shared).findSCCs();
+        new TarjanSCC(graph, shared).findSCCs();
+        assertEquals(6, shared.getCounter("dfs_visits"));
+        assertEquals(4, shared.getCounter("sccs_found"));
+
+        TarjanSCC silent = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+        assertEquals(2, silent.findSCCs().size());
+        assertEquals(0, silent.getMetrics().getCounter("dfs_visits"));
+    }
 }
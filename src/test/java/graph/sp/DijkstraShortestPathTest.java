@@ -0,0 +1,135 @@
+package graph.sp;
+
+import graph.common.Graph;
+import graph.dagsp.DAGShortestPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DijkstraShortestPath.
+ */
+class DijkstraShortestPathTest {
+
+    @Test
+    @DisplayName("Test shortest paths inside a cycle")
+    void testCyclicGraph() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(2, 1, 1.0);  // Cycle: 1 <-> 2
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(1, 3, 7.0);
+
+        DijkstraShortestPath solver = new DijkstraShortestPath(graph);
+        DAGShortestPath.PathResult result = solver.shortestPath(2);
+
+        assertEquals(0.0, result.getDistance(2), 0.001);
+        assertEquals(1.0, result.getDistance(1), 0.001);
+        assertEquals(1.0, result.getDistance(3), 0.001);
+        assertTrue(result.isUnreachable(0));
+        assertEquals(List.of(2, 3), result.getPath(3));
+    }
+
+    @Test
+    @DisplayName("Test negative weights fall back to Bellman-Ford")
+    void testNegativeWeights() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 4.0);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(2, 1, -3.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(3, 2, 6.0);
+
+        DijkstraShortestPath solver = new DijkstraShortestPath(graph);
+        DAGShortestPath.PathResult result = solver.shortestPath(0);
+
+        assertEquals(2.0, result.getDistance(1), 0.001);
+        assertEquals(3.0, result.getDistance(3), 0.001);
+        assertEquals(List.of(0, 2, 1, 3), result.getPath(3));
+        assertThrows(IllegalArgumentException.class, () -> solver.dijkstra(0));
+    }
+
+    @Test
+    @DisplayName("Test negative cycle detection throws exception")
+    void testNegativeCycle() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, -2.0);
+        graph.addEdge(2, 1, 1.0);
+
+        DijkstraShortestPath solver = new DijkstraShortestPath(graph);
+        assertThrows(IllegalStateException.class, () -> solver.shortestPath(0));
+    }
+
+    @Test
+    @DisplayName("Test vertices improved many times are not mistaken for a negative cycle")
+    void testManyImprovementsWithoutCycle() {
+        // Vertex 6 is improved once per vertex 1..5 on each of two rounds
+        Graph graph = new Graph(8);
+        for (int i = 1; i <= 5; i++) {
+            graph.addEdge(0, i, 0.0);
+        }
+        graph.addEdge(0, 7, 0.0);
+        for (int i = 1; i <= 5; i++) {
+            graph.addEdge(7, i, -100.0);
+        }
+        for (int i = 0; i <= 5; i++) {
+            graph.addEdge(i, 6, 5.0 - i);
+        }
+
+        DAGShortestPath.PathResult result = new DijkstraShortestPath(graph).shortestPath(0);
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(-100.0, result.getDistance(i), 1e-9);
+        }
+        assertEquals(-100.0, result.getDistance(6), 1e-9);
+        assertEquals(List.of(0, 7, 5, 6), result.getPath(6));
+    }
+
+    @Test
+    @DisplayName("Test Dijkstra and Bellman-Ford agree, and match DAG results on DAGs")
+    void testEnginesAgree() {
+        Random random = new Random(41);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 2 + random.nextInt(40);
+            Graph cyclic = new Graph(n);
+            Graph dag = new Graph(n);
+            for (int k = 0; k < 3 * n; k++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                double w = random.nextInt(20);
+                cyclic.addEdge(u, v, w);
+                if (u < v) {
+                    dag.addEdge(u, v, w);
+                }
+            }
+
+            DijkstraShortestPath solver = new DijkstraShortestPath(cyclic, 2 + trial % 4);
+            DAGShortestPath.PathResult fast = solver.dijkstra(0);
+            DAGShortestPath.PathResult slow = solver.bellmanFord(0);
+            assertArrayEquals(slow.getDistances(), fast.getDistances(), 1e-9);
+
+            DAGShortestPath.PathResult expected = new DAGShortestPath(dag).shortestPath(0);
+            DAGShortestPath.PathResult actual = new DijkstraShortestPath(dag).shortestPath(0);
+            assertArrayEquals(expected.getDistances(), actual.getDistances(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Test solver sees edges added after the first query")
+    void testGraphChanges() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(1, 2, 5.0);
+
+        DijkstraShortestPath solver = new DijkstraShortestPath(graph);
+        assertEquals(10.0, solver.shortestPath(0).getDistance(2), 0.001);
+
+        graph.addEdge(0, 2, 1.0);
+        assertEquals(1.0, solver.shortestPath(0).getDistance(2), 0.001);
+    }
+}